@@ -0,0 +1,31 @@
+package com.historial.activity.config;
+
+import com.historial.activity.service.ActivityService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * ETags for activity reads, taken from the activities table version rather than the body.
+ * A matching If-None-Match gets a 304 before the handler runs, so the read query is skipped.
+ * They are weak: the JSON, Smile and gzip forms of a version carry the same data but not the same
+ * bytes, and Tomcat does not compress responses that have a strong ETag.
+ */
+@RequiredArgsConstructor
+class ActivityETagInterceptor implements HandlerInterceptor {
+
+    private final ActivityService activityService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        String etag = "W/\"" + activityService.getDataVersion() + "\"";
+        // Sets the ETag header, and the 304 status when the client's copy is current
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
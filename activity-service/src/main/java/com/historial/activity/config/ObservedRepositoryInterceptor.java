@@ -0,0 +1,39 @@
+package com.historial.activity.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps every repository method in an activity.repository observation, which shows up as a child
+ * span of the request. Methods returning a Stream are traced until the stream is opened, not consumed.
+ * The observation produces no meters; see {@link RepositoryObservationConfig}.
+ */
+class ObservedRepositoryInterceptor implements MethodInterceptor {
+
+    static final String OBSERVATION_NAME = "activity.repository";
+
+    private final Supplier<ObservationRegistry> observationRegistry;
+    private final String repository;
+
+    ObservedRepositoryInterceptor(Supplier<ObservationRegistry> observationRegistry, String repository) {
+        this.observationRegistry = observationRegistry;
+        this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        String method = invocation.getMethod().getName();
+        return Observation.createNotStarted(OBSERVATION_NAME, observationRegistry.get())
+                .contextualName(repository + "." + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked(invocation::proceed);
+    }
+}
@@ -0,0 +1,91 @@
+package com.historial.activity.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * If no replica is configured, or it cannot hand out a connection, the primary is used. After a
+ * failure, reads stay on the primary for {@code failureBackoff}, so they do not each wait out the
+ * replica's connection timeout while it is down.
+ *
+ * <p>The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers fetching
+ * the physical connection until the first statement.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final boolean hasReplica;
+    private final Duration failureBackoff;
+    private volatile long replicaRetryAt = System.nanoTime();
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration failureBackoff) {
+        this.primary = primary;
+        this.replica = replica;
+        this.hasReplica = replica != null;
+        this.failureBackoff = failureBackoff;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(Route.PRIMARY, primary);
+        if (hasReplica) {
+            targets.put(Route.REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (hasReplica && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (determineCurrentLookupKey() != Route.REPLICA || System.nanoTime() - replicaRetryAt < 0) {
+            return source.get(primary);
+        }
+        try {
+            return source.get(replica);
+        } catch (SQLException e) {
+            replicaRetryAt = System.nanoTime() + failureBackoff.toNanos();
+            log.warn("Read replica unavailable, reading from primary for the next {} ms: {}",
+                    failureBackoff.toMillis(), e.getMessage());
+            return source.get(primary);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+}
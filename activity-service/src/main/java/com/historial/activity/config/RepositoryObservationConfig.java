@@ -0,0 +1,47 @@
+package com.historial.activity.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Adds {@link ObservedRepositoryInterceptor} to every Spring Data repository proxy, so repository
+ * calls appear as spans in request traces. Their timing is left to Boot's
+ * spring.data.repository.invocations metric.
+ */
+@Configuration
+public class RepositoryObservationConfig {
+
+    @Bean
+    static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        // Resolved on first call: post-processors are created before the registry exists
+        SingletonSupplier<ObservationRegistry> registry =
+                SingletonSupplier.of(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory ->
+                            factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                                    proxyFactory.addAdvice(new ObservedRepositoryInterceptor(
+                                            registry, repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Drops the timer and long-task timer the observation would register, which would time every
+     * repository call a second time next to spring.data.repository.invocations.
+     */
+    @Bean
+    MeterFilter repositoryObservationMeterFilter() {
+        return MeterFilter.denyNameStartsWith(ObservedRepositoryInterceptor.OBSERVATION_NAME);
+    }
+}
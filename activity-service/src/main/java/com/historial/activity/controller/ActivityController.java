@@ -1,17 +1,41 @@
 package com.historial.activity.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.historial.activity.csv.CsvWriter;
+import com.historial.activity.dto.ActivityEventResponse;
+import com.historial.activity.dto.ActivityFilter;
+import com.historial.activity.dto.ActivityHistogramEntry;
+import com.historial.activity.dto.ActivityPage;
 import com.historial.activity.dto.ActivityRequest;
 import com.historial.activity.dto.ActivityResponse;
+import com.historial.activity.dto.ActivitySearchPage;
+import com.historial.activity.dto.ActivitySummaryResponse;
+import com.historial.activity.dto.BulkImportResult;
+import com.historial.activity.dto.CsvImportResult;
 import com.historial.activity.model.Activity;
+import com.historial.activity.service.ActivityBulkImportService;
+import com.historial.activity.service.ActivityCsvLoader;
 import com.historial.activity.service.ActivityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,6 +47,9 @@ import java.util.List;
 public class ActivityController {
 
     private final ActivityService activityService;
+    private final ActivityBulkImportService activityBulkImportService;
+    private final ActivityCsvLoader activityCsvLoader;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create activity", description = "Create a new activity")
@@ -31,6 +58,20 @@ public class ActivityController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Bulk import activities", description = "Create activities from a JSON array or newline-delimited JSON body, reporting rows that failed validation or insertion")
+    public ResponseEntity<BulkImportResult> importActivities(InputStream body) throws IOException {
+        BulkImportResult result = activityBulkImportService.importActivities(body);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import/csv", consumes = "text/csv")
+    @Operation(summary = "Load activities from CSV", description = "Backfill historical activities from a CSV body with a header row, loaded with COPY in a single transaction")
+    public ResponseEntity<CsvImportResult> loadActivitiesCsv(InputStream body) throws IOException {
+        CsvImportResult result = activityCsvLoader.load(body);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
     @Operation(summary = "Get all activities", description = "Retrieve all activities")
     public ResponseEntity<List<ActivityResponse>> getAllActivities() {
@@ -38,6 +79,116 @@ public class ActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get all activities (paginated)", description = "Retrieve a page of all activities, newest first, continuing from the given cursor")
+    public ResponseEntity<ActivityPage> getAllActivitiesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        ActivityPage page = activityService.getActivitiesPage(ActivityFilter.builder().build(), cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all activities", description = "Stream all activities as newline-delimited JSON, newest first")
+    public ResponseEntity<StreamingResponseBody> streamAllActivities() {
+        return ndjson(ActivityFilter.builder().build());
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Filter activities", description = "Retrieve a page of activities matching any combination of type, category, equipment, technician, employee number, shift and date range, newest first; optionally include the total match count")
+    public ResponseEntity<ActivityPage> filterActivities(
+            @RequestParam(required = false) Activity.ActivityType tipo,
+            @RequestParam(required = false) Activity.Category categoria,
+            @RequestParam(required = false) String equipo,
+            @RequestParam(required = false) String tecnico,
+            @RequestParam(required = false) String numFicha,
+            @RequestParam(required = false) String turno,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean includeCount
+    ) {
+        ActivityFilter filter = ActivityFilter.builder()
+                .tipo(tipo)
+                .categoria(categoria)
+                .equipo(equipo)
+                .tecnico(tecnico)
+                .numFicha(numFicha)
+                .turno(turno)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+        ActivityPage page = activityService.getActivitiesPage(filter, cursor, size, includeCount);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = "text/csv")
+    @Operation(summary = "Export activities as CSV", description = "Download activities matching the optional filters as CSV, newest first")
+    public ResponseEntity<StreamingResponseBody> exportActivities(
+            @RequestParam(required = false) Activity.ActivityType tipo,
+            @RequestParam(required = false) Activity.Category categoria,
+            @RequestParam(required = false) String equipo,
+            @RequestParam(required = false) String numFicha,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
+    ) {
+        ActivityFilter filter = ActivityFilter.builder()
+                .tipo(tipo)
+                .categoria(categoria)
+                .equipo(equipo)
+                .numFicha(numFicha)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+        return csv(filter);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search activities", description = "Full-text search over activity descriptions, best match first, optionally restricted to a type and equipment; continue with the returned cursor")
+    public ResponseEntity<ActivitySearchPage> searchActivities(
+            @RequestParam String q,
+            @RequestParam(required = false) Activity.ActivityType tipo,
+            @RequestParam(required = false) String equipo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        ActivitySearchPage page = activityService.searchActivities(q, tipo, equipo, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get activity summary", description = "Retrieve activity counts grouped by type, category, equipment and shift")
+    public ResponseEntity<ActivitySummaryResponse> getActivitySummary() {
+        ActivitySummaryResponse summary = activityService.getActivitySummary();
+        return ResponseEntity.ok(summary);
+    }
+
+    @GetMapping("/histogram")
+    @Operation(summary = "Get activity histogram", description = "Count activities per time bucket (DAY, WEEK, MONTH) and group (TIPO, CATEGORIA, EQUIPO, TURNO) for createdAt in [from, to)")
+    public ResponseEntity<List<ActivityHistogramEntry>> getActivityHistogram(
+            @RequestParam ActivityHistogramEntry.Interval interval,
+            @RequestParam ActivityHistogramEntry.Dimension groupBy,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Activity.ActivityType tipo,
+            @RequestParam(required = false) String equipo
+    ) {
+        List<ActivityHistogramEntry> histogram = activityService.getHistogram(interval, groupBy, from, to, tipo, equipo);
+        return ResponseEntity.ok(histogram);
+    }
+
+    @GetMapping("/events")
+    @Operation(summary = "Get activity change events", description = "Retrieve create/update/delete events with an id greater than the given one, oldest first")
+    public ResponseEntity<List<ActivityEventResponse>> getActivityEvents(
+            @RequestParam(defaultValue = "0") Long after,
+            @RequestParam(required = false) Integer limit
+    ) {
+        List<ActivityEventResponse> events = activityService.getEventsAfter(after, limit);
+        return ResponseEntity.ok(events);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get activity by ID", description = "Retrieve activity by ID")
     public ResponseEntity<ActivityResponse> getActivityById(@PathVariable Long id) {
@@ -52,6 +203,23 @@ public class ActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    @GetMapping("/type/{tipo}/page")
+    @Operation(summary = "Get activities by type (paginated)", description = "Retrieve a page of activities by type, newest first, continuing from the given cursor")
+    public ResponseEntity<ActivityPage> getActivitiesByTypePage(
+            @PathVariable Activity.ActivityType tipo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        ActivityPage page = activityService.getActivitiesPage(ActivityFilter.builder().tipo(tipo).build(), cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/type/{tipo}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream activities by type", description = "Stream activities by type as newline-delimited JSON, newest first")
+    public ResponseEntity<StreamingResponseBody> streamActivitiesByType(@PathVariable Activity.ActivityType tipo) {
+        return ndjson(ActivityFilter.builder().tipo(tipo).build());
+    }
+
     @GetMapping("/category/{categoria}")
     @Operation(summary = "Get activities by category", description = "Retrieve activities by category")
     public ResponseEntity<List<ActivityResponse>> getActivitiesByCategory(@PathVariable Activity.Category categoria) {
@@ -59,6 +227,23 @@ public class ActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    @GetMapping("/category/{categoria}/page")
+    @Operation(summary = "Get activities by category (paginated)", description = "Retrieve a page of activities by category, newest first, continuing from the given cursor")
+    public ResponseEntity<ActivityPage> getActivitiesByCategoryPage(
+            @PathVariable Activity.Category categoria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        ActivityPage page = activityService.getActivitiesPage(ActivityFilter.builder().categoria(categoria).build(), cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/category/{categoria}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream activities by category", description = "Stream activities by category as newline-delimited JSON, newest first")
+    public ResponseEntity<StreamingResponseBody> streamActivitiesByCategory(@PathVariable Activity.Category categoria) {
+        return ndjson(ActivityFilter.builder().categoria(categoria).build());
+    }
+
     @GetMapping("/equipo/{equipo}")
     @Operation(summary = "Get activities by equipment", description = "Retrieve activities by equipment name")
     public ResponseEntity<List<ActivityResponse>> getActivitiesByEquipo(@PathVariable String equipo) {
@@ -66,6 +251,23 @@ public class ActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    @GetMapping("/equipo/{equipo}/page")
+    @Operation(summary = "Get activities by equipment (paginated)", description = "Retrieve a page of activities by equipment, newest first, continuing from the given cursor")
+    public ResponseEntity<ActivityPage> getActivitiesByEquipoPage(
+            @PathVariable String equipo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        ActivityPage page = activityService.getActivitiesPage(ActivityFilter.builder().equipo(equipo).build(), cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/equipo/{equipo}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream activities by equipment", description = "Stream activities by equipment as newline-delimited JSON, newest first")
+    public ResponseEntity<StreamingResponseBody> streamActivitiesByEquipo(@PathVariable String equipo) {
+        return ndjson(ActivityFilter.builder().equipo(equipo).build());
+    }
+
     @GetMapping("/ficha/{numFicha}")
     @Operation(summary = "Get activities by employee", description = "Retrieve activities by employee number")
     public ResponseEntity<List<ActivityResponse>> getActivitiesByNumFicha(@PathVariable String numFicha) {
@@ -73,6 +275,23 @@ public class ActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    @GetMapping("/ficha/{numFicha}/page")
+    @Operation(summary = "Get activities by employee (paginated)", description = "Retrieve a page of activities by employee, newest first, continuing from the given cursor")
+    public ResponseEntity<ActivityPage> getActivitiesByNumFichaPage(
+            @PathVariable String numFicha,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        ActivityPage page = activityService.getActivitiesPage(ActivityFilter.builder().numFicha(numFicha).build(), cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/ficha/{numFicha}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream activities by employee", description = "Stream activities by employee as newline-delimited JSON, newest first")
+    public ResponseEntity<StreamingResponseBody> streamActivitiesByNumFicha(@PathVariable String numFicha) {
+        return ndjson(ActivityFilter.builder().numFicha(numFicha).build());
+    }
+
     @GetMapping("/date-range")
     @Operation(summary = "Get activities by date range", description = "Retrieve activities within a date range")
     public ResponseEntity<List<ActivityResponse>> getActivitiesByDateRange(
@@ -83,6 +302,27 @@ public class ActivityController {
         return ResponseEntity.ok(activities);
     }
 
+    @GetMapping("/date-range/page")
+    @Operation(summary = "Get activities by date range (paginated)", description = "Retrieve a page of activities by date range, newest first, continuing from the given cursor")
+    public ResponseEntity<ActivityPage> getActivitiesByDateRangePage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        ActivityPage page = activityService.getActivitiesPage(ActivityFilter.builder().startDate(startDate).endDate(endDate).build(), cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/date-range/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream activities by date range", description = "Stream activities by date range as newline-delimited JSON, newest first")
+    public ResponseEntity<StreamingResponseBody> streamActivitiesByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate
+    ) {
+        return ndjson(ActivityFilter.builder().startDate(startDate).endDate(endDate).build());
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update activity", description = "Update an existing activity")
     public ResponseEntity<ActivityResponse> updateActivity(
@@ -99,4 +339,53 @@ public class ActivityController {
         activityService.deleteActivity(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Header names match the CSV import columns, so an export can be loaded back. The byte order
+     * mark makes Excel open the file as UTF-8. Text that a spreadsheet would evaluate as a formula
+     * is prefixed with {@code '}, which stays in the value if the file is imported again.
+     */
+    private ResponseEntity<StreamingResponseBody> csv(ActivityFilter filter) {
+        StreamingResponseBody body = outputStream -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write('\uFEFF');
+            CsvWriter csv = new CsvWriter(writer, true);
+            csv.writeRecord("id", "tipo", "categoria", "equipo", "tecnico", "num_ficha", "turno",
+                    "descripcion", "created_at", "updated_at");
+            activityService.streamActivities(filter, activity -> {
+                try {
+                    csv.writeRecord(activity.getId(), activity.getTipo(), activity.getCategoria(),
+                            activity.getEquipo(), activity.getTecnico(), activity.getNumFicha(), activity.getTurno(),
+                            activity.getDescripcion(), activity.getCreatedAt(), activity.getUpdatedAt());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            csv.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("activities.csv").build().toString())
+                .body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(ActivityFilter filter) {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                activityService.streamActivities(filter, activity -> {
+                    try {
+                        writer.write(activity);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
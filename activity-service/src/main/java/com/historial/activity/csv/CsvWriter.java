@@ -0,0 +1,78 @@
+package com.historial.activity.csv;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 records. Fields are quoted only when they contain a separator, quote or
+ * line break; null is written as an empty unquoted field.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+    private final boolean escapeFormulas;
+
+    public CsvWriter(Writer writer) {
+        this(writer, false);
+    }
+
+    /**
+     * With {@code escapeFormulas}, string fields starting with {@code =}, {@code +}, {@code -},
+     * {@code @}, tab or carriage return get a leading {@code '} so spreadsheets show them as text
+     * instead of evaluating them. Use it for files meant for people, not for COPY input.
+     */
+    public CsvWriter(Writer writer, boolean escapeFormulas) {
+        this.writer = writer;
+        this.escapeFormulas = escapeFormulas;
+    }
+
+    public void writeRecord(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] instanceof String text && escapeFormulas && isFormula(text)) {
+                writeField("'" + text);
+            } else if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean isFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private static boolean needsQuotes(String value) {
+        // An empty string is quoted so it stays distinct from null (COPY ... CSV reads "" as empty, bare as NULL)
+        if (value.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+package com.historial.activity.dto;
+
+import com.historial.activity.model.Activity;
+import com.historial.activity.model.ActivityEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityEventResponse {
+
+    private Long id;
+    private Long activityId;
+    private ActivityEvent.EventType type;
+    private Activity.ActivityType tipo;
+    private Activity.Category categoria;
+    private String equipo;
+    private String turno;
+    private Activity.ActivityType previousTipo;
+    private Activity.Category previousCategoria;
+    private String previousEquipo;
+    private String previousTurno;
+    private LocalDateTime activityCreatedAt;
+    private LocalDateTime createdAt;
+
+    public static ActivityEventResponse fromEvent(ActivityEvent event) {
+        return ActivityEventResponse.builder()
+                .id(event.getId())
+                .activityId(event.getActivityId())
+                .type(event.getType())
+                .tipo(event.getTipo())
+                .categoria(event.getCategoria())
+                .equipo(event.getEquipo())
+                .turno(event.getTurno())
+                .previousTipo(event.getPreviousTipo())
+                .previousCategoria(event.getPreviousCategoria())
+                .previousEquipo(event.getPreviousEquipo())
+                .previousTurno(event.getPreviousTurno())
+                .activityCreatedAt(event.getActivityCreatedAt())
+                .createdAt(event.getCreatedAt())
+                .build();
+    }
+}
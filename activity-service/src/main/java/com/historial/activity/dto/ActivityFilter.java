@@ -0,0 +1,28 @@
+package com.historial.activity.dto;
+
+import com.historial.activity.model.Activity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional criteria for activity list queries. Null fields are not filtered on.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityFilter {
+
+    private Activity.ActivityType tipo;
+    private Activity.Category categoria;
+    private String equipo;
+    private String tecnico;
+    private String numFicha;
+    private String turno;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+}
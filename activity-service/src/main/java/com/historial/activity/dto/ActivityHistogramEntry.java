@@ -0,0 +1,42 @@
+package com.historial.activity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of activities with the given group key whose createdAt falls in the bucket starting at bucketStart.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityHistogramEntry {
+
+    private LocalDateTime bucketStart;
+    private String key;
+    private Long count;
+
+    public enum Interval {
+        DAY,
+        WEEK,
+        MONTH;
+
+        /**
+         * Field name understood by Postgres date_trunc.
+         */
+        public String truncUnit() {
+            return name().toLowerCase();
+        }
+    }
+
+    public enum Dimension {
+        TIPO,
+        CATEGORIA,
+        EQUIPO,
+        TURNO
+    }
+}
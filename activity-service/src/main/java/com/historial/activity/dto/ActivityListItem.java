@@ -0,0 +1,22 @@
+package com.historial.activity.dto;
+
+import com.historial.activity.model.Activity;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of an activity: everything but the descripcion text, selected straight from the query
+ * without loading entities. Use {@link ActivityResponse} where the description is needed.
+ */
+public record ActivityListItem(
+        Long id,
+        Activity.ActivityType tipo,
+        Activity.Category categoria,
+        String equipo,
+        String tecnico,
+        String numFicha,
+        String turno,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
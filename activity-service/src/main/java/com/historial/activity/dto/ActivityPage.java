@@ -0,0 +1,22 @@
+package com.historial.activity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityPage {
+
+    private List<ActivityListItem> content;
+    private int size;
+    private String nextCursor;
+
+    /** Number of activities matching the filter across all pages; only set when requested. */
+    private Long totalCount;
+}
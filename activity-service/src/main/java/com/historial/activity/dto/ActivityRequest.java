@@ -34,4 +34,16 @@ public class ActivityRequest {
 
     @NotBlank(message = "Description is required")
     private String descripcion;
+
+    public Activity toActivity() {
+        return Activity.builder()
+                .tipo(tipo)
+                .categoria(categoria)
+                .equipo(equipo)
+                .tecnico(tecnico)
+                .numFicha(numFicha)
+                .turno(turno)
+                .descripcion(descripcion)
+                .build();
+    }
 }
@@ -0,0 +1,22 @@
+package com.historial.activity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivitySummaryResponse {
+
+    private Long lastEventId;
+    private Long totalActivities;
+    private Map<String, Long> activitiesByType;
+    private Map<String, Long> activitiesByCategory;
+    private Map<String, Long> activitiesByEquipo;
+    private Map<String, Long> activitiesByTurno;
+}
@@ -0,0 +1,30 @@
+package com.historial.activity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+
+    private int received;
+    private int imported;
+    private int failed;
+    private long elapsedMillis;
+    private List<RowError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        /** Zero-based position of the row in the request body. */
+        private int row;
+        private String message;
+    }
+}
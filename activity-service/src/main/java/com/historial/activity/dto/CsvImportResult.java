@@ -0,0 +1,17 @@
+package com.historial.activity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CsvImportResult {
+
+    private long rows;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
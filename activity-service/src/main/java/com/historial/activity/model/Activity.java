@@ -13,11 +13,17 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "activities")
+@Table(name = "activities", indexes = {
+        @Index(name = "idx_activities_equipo_created_at", columnList = "equipo, created_at DESC, id DESC"),
+        @Index(name = "idx_activities_num_ficha_created_at", columnList = "num_ficha, created_at DESC, id DESC"),
+        @Index(name = "idx_activities_created_at", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_activities_tipo_categoria", columnList = "tipo, categoria")
+})
 public class Activity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activities_seq")
+    @SequenceGenerator(name = "activities_seq", sequenceName = "activities_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
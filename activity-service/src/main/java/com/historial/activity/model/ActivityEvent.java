@@ -0,0 +1,88 @@
+package com.historial.activity.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox record of a change to an activity. Current values are null for deletions,
+ * previous values are null for creations.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "activity_events")
+public class ActivityEvent {
+
+    // IDENTITY, not a pooled sequence: consumers read events by id, so ids must follow commit order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EventType type;
+
+    @Enumerated(EnumType.STRING)
+    private Activity.ActivityType tipo;
+
+    @Enumerated(EnumType.STRING)
+    private Activity.Category categoria;
+
+    private String equipo;
+
+    private String turno;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_tipo")
+    private Activity.ActivityType previousTipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_categoria")
+    private Activity.Category previousCategoria;
+
+    @Column(name = "previous_equipo")
+    private String previousEquipo;
+
+    @Column(name = "previous_turno")
+    private String previousTurno;
+
+    // Never changes after creation, so it is the same before and after an update
+    @Column(name = "activity_created_at")
+    private LocalDateTime activityCreatedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public static ActivityEvent created(Activity activity) {
+        return ActivityEvent.builder()
+                .activityId(activity.getId())
+                .activityCreatedAt(activity.getCreatedAt())
+                .type(EventType.CREATED)
+                .tipo(activity.getTipo())
+                .categoria(activity.getCategoria())
+                .equipo(activity.getEquipo())
+                .turno(activity.getTurno())
+                .build();
+    }
+
+    public enum EventType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
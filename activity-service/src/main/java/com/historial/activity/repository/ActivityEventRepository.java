@@ -0,0 +1,35 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.model.ActivityEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ActivityEventRepository extends JpaRepository<ActivityEvent, Long> {
+
+    List<ActivityEvent> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ActivityEvent e")
+    Long findLastEventId();
+
+    /**
+     * Writes a CREATED event for each of the given activities in a single statement, in activity id order.
+     * Bulk imports use it because IDENTITY ids would otherwise cost one insert per event.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO activity_events (activity_id, activity_created_at, type, tipo, categoria, equipo, turno, created_at) " +
+            "SELECT a.id, a.created_at, 'CREATED', a.tipo, a.categoria, a.equipo, a.turno, :createdAt " +
+            "FROM activities a WHERE a.id IN (:activityIds) ORDER BY a.id", nativeQuery = true)
+    int insertCreatedEvents(@Param("activityIds") List<Long> activityIds, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM ActivityEvent e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
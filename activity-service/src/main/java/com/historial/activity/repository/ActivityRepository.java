@@ -1,7 +1,9 @@
 package com.historial.activity.repository;
 
+import com.historial.activity.dto.ActivityResponse;
 import com.historial.activity.model.Activity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -10,26 +12,83 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ActivityRepository extends JpaRepository<Activity, Long> {
+public interface ActivityRepository extends JpaRepository<Activity, Long>, JpaSpecificationExecutor<Activity>,
+        ActivityRepositoryCustom {
 
-    List<Activity> findByTipo(Activity.ActivityType tipo);
+    // List endpoints select ActivityResponse directly: no entities enter the persistence context,
+    // so there is nothing to snapshot or dirty-check
 
-    List<Activity> findByCategoria(Activity.Category categoria);
+    String RESPONSE = "new com.historial.activity.dto.ActivityResponse(a.id, a.tipo, a.categoria, a.equipo, " +
+            "a.tecnico, a.numFicha, a.turno, a.descripcion, a.createdAt, a.updatedAt)";
+
+    @Query("SELECT " + RESPONSE + " FROM Activity a")
+    List<ActivityResponse> findAllResponses();
+
+    @Query("SELECT " + RESPONSE + " FROM Activity a WHERE a.tipo = :tipo")
+    List<ActivityResponse> findByTipo(@Param("tipo") Activity.ActivityType tipo);
+
+    @Query("SELECT " + RESPONSE + " FROM Activity a WHERE a.categoria = :categoria")
+    List<ActivityResponse> findByCategoria(@Param("categoria") Activity.Category categoria);
 
     List<Activity> findByEquipo(String equipo);
 
-    List<Activity> findByNumFicha(String numFicha);
+    @Query("SELECT " + RESPONSE + " FROM Activity a WHERE a.numFicha = :numFicha")
+    List<ActivityResponse> findByNumFicha(@Param("numFicha") String numFicha);
 
     List<Activity> findByTurno(String turno);
 
-    @Query("SELECT a FROM Activity a WHERE a.createdAt BETWEEN :startDate AND :endDate")
-    List<Activity> findByDateRange(@Param("startDate") LocalDateTime startDate,
-                                   @Param("endDate") LocalDateTime endDate);
+    @Query("SELECT " + RESPONSE + " FROM Activity a WHERE a.createdAt BETWEEN :startDate AND :endDate")
+    List<ActivityResponse> findByDateRange(@Param("startDate") LocalDateTime startDate,
+                                           @Param("endDate") LocalDateTime endDate);
 
     @Query("SELECT a FROM Activity a WHERE a.tipo = :tipo AND a.categoria = :categoria")
     List<Activity> findByTipoAndCategoria(@Param("tipo") Activity.ActivityType tipo,
                                           @Param("categoria") Activity.Category categoria);
 
-    @Query("SELECT a FROM Activity a WHERE a.equipo = :equipo ORDER BY a.createdAt DESC")
-    List<Activity> findByEquipoOrderByCreatedAtDesc(@Param("equipo") String equipo);
+    @Query("SELECT " + RESPONSE + " FROM Activity a WHERE a.equipo = :equipo ORDER BY a.createdAt DESC")
+    List<ActivityResponse> findByEquipoOrderByCreatedAtDesc(@Param("equipo") String equipo);
+
+    // Aggregations for the summary report: each row is [group key, count]
+
+    @Query("SELECT a.tipo, COUNT(a) FROM Activity a GROUP BY a.tipo")
+    List<Object[]> countByTipo();
+
+    @Query("SELECT a.categoria, COUNT(a) FROM Activity a GROUP BY a.categoria")
+    List<Object[]> countByCategoria();
+
+    @Query("SELECT a.equipo, COUNT(a) FROM Activity a GROUP BY a.equipo")
+    List<Object[]> countByEquipo();
+
+    @Query("SELECT a.turno, COUNT(a) FROM Activity a GROUP BY a.turno")
+    List<Object[]> countByTurno();
+
+    /**
+     * Matches descripcion against a web-search style query (quoted phrases, OR, -exclusions),
+     * best rank first. Returns id, tipo, categoria, equipo, tecnico, num_ficha, turno, descripcion,
+     * created_at, updated_at and rank. Keyset position is (afterRank, afterId); pass Float.MAX_VALUE
+     * and Long.MAX_VALUE for the first page.
+     */
+    @Query(value = "SELECT * FROM (" +
+            "SELECT a.id, a.tipo, a.categoria, a.equipo, a.tecnico, a.num_ficha, a.turno, a.descripcion, " +
+            "a.created_at, a.updated_at, ts_rank(a.descripcion_tsv, q.query) AS rank " +
+            "FROM activities a, websearch_to_tsquery('spanish', :query) AS q(query) " +
+            "WHERE a.descripcion_tsv @@ q.query " +
+            "AND (CAST(:tipo AS text) IS NULL OR a.tipo = CAST(:tipo AS text)) " +
+            "AND (CAST(:equipo AS text) IS NULL OR a.equipo = CAST(:equipo AS text))" +
+            ") hits " +
+            "WHERE (hits.rank, hits.id) < (CAST(:afterRank AS real), :afterId) " +
+            "ORDER BY hits.rank DESC, hits.id DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<Object[]> searchByDescripcion(@Param("query") String query,
+                                       @Param("tipo") String tipo,
+                                       @Param("equipo") String equipo,
+                                       @Param("afterRank") float afterRank,
+                                       @Param("afterId") long afterId,
+                                       @Param("limit") int limit);
+
+    /**
+     * Version of the activities table, bumped by every statement that writes to it (V7 trigger).
+     */
+    @Query(value = "SELECT version FROM activities_version", nativeQuery = true)
+    long findTableVersion();
 }
@@ -0,0 +1,37 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.dto.ActivityCursor;
+import com.historial.activity.dto.ActivityFilter;
+import com.historial.activity.dto.ActivityHistogramEntry;
+import com.historial.activity.dto.ActivityListItem;
+import com.historial.activity.dto.ActivityResponse;
+import com.historial.activity.model.Activity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ActivityRepositoryCustom {
+
+    /**
+     * Returns at most {@code limit} activities after the cursor, newest first, without descripcion.
+     */
+    List<ActivityListItem> findPage(ActivityFilter filter, ActivityCursor after, int limit);
+
+    /**
+     * Streams every matching activity, newest first, fetching {@code fetchSize} rows per round trip.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    Stream<ActivityResponse> streamAll(ActivityFilter filter, int fetchSize);
+
+    /**
+     * Counts activities per interval bucket and group key for createdAt in [from, to), optionally
+     * restricted to one tipo and/or equipo. Ordered by bucket start, then key.
+     */
+    List<ActivityHistogramEntry> histogram(ActivityHistogramEntry.Interval interval,
+                                           ActivityHistogramEntry.Dimension groupBy,
+                                           LocalDateTime from,
+                                           LocalDateTime to,
+                                           Activity.ActivityType tipo,
+                                           String equipo);
+}
@@ -0,0 +1,128 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.dto.ActivityCursor;
+import com.historial.activity.dto.ActivityFilter;
+import com.historial.activity.dto.ActivityHistogramEntry;
+import com.historial.activity.dto.ActivityListItem;
+import com.historial.activity.dto.ActivityResponse;
+import com.historial.activity.model.Activity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ActivityRepositoryImpl implements ActivityRepositoryCustom {
+
+    // Constructor argument order of the projected views
+    private static final List<String> LIST_ITEM_ATTRIBUTES = List.of(
+            "id", "tipo", "categoria", "equipo", "tecnico", "numFicha", "turno", "createdAt", "updatedAt");
+    private static final List<String> RESPONSE_ATTRIBUTES = List.of(
+            "id", "tipo", "categoria", "equipo", "tecnico", "numFicha", "turno", "descripcion", "createdAt", "updatedAt");
+
+    // Grouping columns are taken only from here, never from request input
+    private static final Map<ActivityHistogramEntry.Dimension, String> HISTOGRAM_COLUMNS =
+            new EnumMap<>(Map.of(
+                    ActivityHistogramEntry.Dimension.TIPO, "tipo",
+                    ActivityHistogramEntry.Dimension.CATEGORIA, "categoria",
+                    ActivityHistogramEntry.Dimension.EQUIPO, "equipo",
+                    ActivityHistogramEntry.Dimension.TURNO, "turno"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ActivityListItem> findPage(ActivityFilter filter, ActivityCursor after, int limit) {
+        return keysetQuery(ActivityListItem.class, LIST_ITEM_ATTRIBUTES, filter, after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<ActivityResponse> streamAll(ActivityFilter filter, int fetchSize) {
+        return keysetQuery(ActivityResponse.class, RESPONSE_ATTRIBUTES, filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ActivityHistogramEntry> histogram(ActivityHistogramEntry.Interval interval,
+                                                  ActivityHistogramEntry.Dimension groupBy,
+                                                  LocalDateTime from,
+                                                  LocalDateTime to,
+                                                  Activity.ActivityType tipo,
+                                                  String equipo) {
+        StringBuilder sql = new StringBuilder("SELECT date_trunc(CAST(:unit AS text), a.created_at), a.")
+                .append(HISTOGRAM_COLUMNS.get(groupBy))
+                .append(", COUNT(*) FROM activities a WHERE a.created_at >= :from AND a.created_at < :to");
+        if (tipo != null) {
+            sql.append(" AND a.tipo = :tipo");
+        }
+        if (equipo != null) {
+            sql.append(" AND a.equipo = :equipo");
+        }
+        sql.append(" GROUP BY 1, 2 ORDER BY 1, 2");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("unit", interval.truncUnit())
+                .setParameter("from", from)
+                .setParameter("to", to);
+        if (tipo != null) {
+            query.setParameter("tipo", tipo.name());
+        }
+        if (equipo != null) {
+            query.setParameter("equipo", equipo);
+        }
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> ActivityHistogramEntry.builder()
+                        .bucketStart(toLocalDateTime(row[0]))
+                        .key(String.valueOf(row[1]))
+                        .count(((Number) row[2]).longValue())
+                        .build())
+                .toList();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        // Native timestamp columns come back as Timestamp or LocalDateTime depending on the driver mapping
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private <T> TypedQuery<T> keysetQuery(Class<T> view, List<String> attributes, ActivityFilter filter,
+                                          ActivityCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(view);
+        Root<Activity> root = query.from(Activity.class);
+        query.select(cb.construct(view, attributes.stream()
+                .map(root::get)
+                .toArray(Selection[]::new)));
+
+        Specification<Activity> spec = ActivitySpecifications.matching(filter)
+                .and(ActivitySpecifications.after(after));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+
+        return entityManager.createQuery(query);
+    }
+}
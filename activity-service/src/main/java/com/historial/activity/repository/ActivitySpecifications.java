@@ -0,0 +1,66 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.dto.ActivityCursor;
+import com.historial.activity.dto.ActivityFilter;
+import com.historial.activity.model.Activity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ActivitySpecifications {
+
+    private ActivitySpecifications() {
+    }
+
+    public static Specification<Activity> matching(ActivityFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getTipo() != null) {
+                predicates.add(cb.equal(root.get("tipo"), filter.getTipo()));
+            }
+            if (filter.getCategoria() != null) {
+                predicates.add(cb.equal(root.get("categoria"), filter.getCategoria()));
+            }
+            if (filter.getEquipo() != null) {
+                predicates.add(cb.equal(root.get("equipo"), filter.getEquipo()));
+            }
+            if (filter.getTecnico() != null) {
+                predicates.add(cb.equal(root.get("tecnico"), filter.getTecnico()));
+            }
+            if (filter.getNumFicha() != null) {
+                predicates.add(cb.equal(root.get("numFicha"), filter.getNumFicha()));
+            }
+            if (filter.getTurno() != null) {
+                predicates.add(cb.equal(root.get("turno"), filter.getTurno()));
+            }
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<LocalDateTime>get("createdAt"), filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<LocalDateTime>get("createdAt"), filter.getEndDate()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Rows strictly after the cursor in (createdAt DESC, id DESC) order; no restriction when cursor is null.
+     */
+    public static Specification<Activity> after(ActivityCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            return cb.or(
+                    cb.lessThan(root.<LocalDateTime>get("createdAt"), cursor.getCreatedAt()),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                            cb.lessThan(root.<Long>get("id"), cursor.getId())
+                    )
+            );
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package com.historial.activity.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.historial.activity.dto.ActivityRequest;
+import com.historial.activity.dto.BulkImportResult;
+import com.historial.activity.model.Activity;
+import com.historial.activity.repository.ActivityEventRepository;
+import com.historial.activity.repository.ActivityRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports activities from a JSON array or NDJSON body. Rows are read one at a time, validated,
+ * and written in batches, each batch in its own transaction so Hibernate can send the inserts
+ * as JDBC batches. When a batch fails, its rows are retried one by one to find the bad ones.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ActivityBulkImportService {
+
+    private final ActivityRepository activityRepository;
+    private final ActivityEventRepository activityEventRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${activity.bulk.batch-size:500}")
+    private int batchSize;
+
+    public BulkImportResult importActivities(InputStream body) throws IOException {
+        long startedAt = System.nanoTime();
+        List<BulkImportResult.RowError> errors = new ArrayList<>();
+        List<Row> batch = new ArrayList<>(batchSize);
+        int received = 0;
+        int imported = 0;
+
+        try (MappingIterator<ActivityRequest> rows = objectMapper.readerFor(ActivityRequest.class).readValues(body)) {
+            while (true) {
+                ActivityRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    // The parser cannot resynchronise after malformed input, so the rest of the body is dropped
+                    errors.add(new BulkImportResult.RowError(received++, "Malformed row, import stopped: " + e.getOriginalMessage()));
+                    break;
+                }
+
+                int row = received++;
+                String violations = validate(request);
+                if (violations != null) {
+                    errors.add(new BulkImportResult.RowError(row, violations));
+                    continue;
+                }
+
+                batch.add(new Row(row, request));
+                if (batch.size() >= batchSize) {
+                    imported += saveBatch(batch, errors);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += saveBatch(batch, errors);
+        }
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.debug("Bulk import: {} rows received, {} imported, {} failed in {} ms",
+                received, imported, errors.size(), elapsedMillis);
+        return BulkImportResult.builder()
+                .received(received)
+                .imported(imported)
+                .failed(errors.size())
+                .elapsedMillis(elapsedMillis)
+                .errors(errors)
+                .build();
+    }
+
+    private String validate(ActivityRequest request) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<ActivityRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private int saveBatch(List<Row> batch, List<BulkImportResult.RowError> errors) {
+        try {
+            insert(batch);
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.debug("Bulk import batch of {} rows failed, retrying row by row", batch.size(), e);
+        }
+
+        int imported = 0;
+        for (Row row : batch) {
+            try {
+                insert(List.of(row));
+                imported++;
+            } catch (RuntimeException e) {
+                errors.add(new BulkImportResult.RowError(row.index(), rootMessage(e)));
+            }
+        }
+        return imported;
+    }
+
+    private void insert(List<Row> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Entities are rebuilt on every attempt so a rolled-back batch leaves no assigned ids behind
+            List<Activity> activities = rows.stream()
+                    .map(row -> row.request().toActivity())
+                    .toList();
+            activityRepository.saveAll(activities);
+            // Activities first, so the events take their ids under the version row lock like single writes
+            entityManager.flush();
+            activityEventRepository.insertCreatedEvents(activities.stream().map(Activity::getId).toList(), LocalDateTime.now());
+            entityManager.clear();
+        });
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private record Row(int index, ActivityRequest request) {
+    }
+}
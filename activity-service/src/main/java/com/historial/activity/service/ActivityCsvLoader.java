@@ -0,0 +1,228 @@
+package com.historial.activity.service;
+
+import com.historial.activity.csv.CsvReader;
+import com.historial.activity.csv.CsvWriter;
+import com.historial.activity.dto.CsvImportResult;
+import com.historial.activity.model.Activity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Backfill path for large historical CSV files. Rows are parsed one at a time and streamed into
+ * {@code COPY activities FROM STDIN}, bypassing JPA entirely. The load is a single transaction:
+ * any invalid row aborts it.
+ *
+ * <p>The CSV needs a header row naming the columns; {@code tipo}, {@code categoria}, {@code equipo},
+ * {@code tecnico}, {@code num_ficha}, {@code turno} and {@code descripcion} are required,
+ * {@code created_at} and {@code updated_at} are optional. No outbox events are written, so
+ * report-service counters pick the rows up on their next reconciliation.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ActivityCsvLoader {
+
+    private static final String COPY_SQL = "COPY activities (id, tipo, categoria, equipo, tecnico, num_ficha, turno, "
+            + "descripcion, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    /** Must match INCREMENT BY of activities_seq and the allocationSize on {@link Activity}. */
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("tipo", "categoria", "equipo", "tecnico", "num_ficha", "turno", "descripcion");
+
+    private final DataSource dataSource;
+
+    @Value("${activity.csv-import.copy-buffer-size:65536}")
+    private int copyBufferSize;
+
+    @Value("${activity.csv-import.id-blocks-per-fetch:200}")
+    private int idBlocksPerFetch;
+
+    public CsvImportResult load(InputStream body) throws IOException {
+        long startedAt = System.nanoTime();
+        LocalDateTime loadedAt = LocalDateTime.now();
+        CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV is empty");
+        }
+        Map<String, Integer> columns = columnIndexes(header);
+
+        long rows;
+        try (Connection copyConnection = dataSource.getConnection();
+             Connection idConnection = dataSource.getConnection()) {
+            copyConnection.setAutoCommit(false);
+            IdAllocator ids = new IdAllocator(idConnection, idBlocksPerFetch);
+            PGCopyOutputStream copy = new PGCopyOutputStream(copyConnection.unwrap(PGConnection.class), COPY_SQL, copyBufferSize);
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), copyBufferSize);
+                CsvWriter csv = new CsvWriter(writer);
+                List<String> record;
+                while ((record = reader.readRecord()) != null) {
+                    if (record.size() == 1 && record.get(0).isBlank()) {
+                        continue;
+                    }
+                    writeRow(csv, record, columns, reader.getRecordLine(), ids, loadedAt);
+                }
+                writer.flush();
+                rows = copy.endCopy();
+                copyConnection.commit();
+            } catch (IOException | RuntimeException | SQLException e) {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+                copyConnection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("CSV import failed: " + e.getMessage(), e);
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        long rowsPerSecond = rows * 1000 / elapsedMillis;
+        log.info("CSV import loaded {} activities in {} ms ({} rows/s)", rows, elapsedMillis, rowsPerSecond);
+        return CsvImportResult.builder()
+                .rows(rows)
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private static Map<String, Integer> columnIndexes(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Strip a UTF-8 byte order mark left by spreadsheet exports
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.put(name, i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header is missing column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static void writeRow(CsvWriter csv, List<String> record, Map<String, Integer> columns, long line,
+                                 IdAllocator ids, LocalDateTime loadedAt) throws IOException, SQLException {
+        Activity.ActivityType tipo = parseEnum(Activity.ActivityType.class, field(record, columns, "tipo", line), "tipo", line);
+        Activity.Category categoria = parseEnum(Activity.Category.class, field(record, columns, "categoria", line), "categoria", line);
+        // Same defaults as Activity.onCreate when the file carries no timestamps
+        LocalDateTime createdAt = parseTimestamp(optionalField(record, columns, "created_at"), "created_at", line, loadedAt);
+        LocalDateTime updatedAt = parseTimestamp(optionalField(record, columns, "updated_at"), "updated_at", line, createdAt);
+
+        csv.writeRecord(
+                ids.next(),
+                tipo.name(),
+                categoria.name(),
+                field(record, columns, "equipo", line),
+                field(record, columns, "tecnico", line),
+                field(record, columns, "num_ficha", line),
+                field(record, columns, "turno", line),
+                field(record, columns, "descripcion", line),
+                createdAt,
+                updatedAt);
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column, long line) {
+        String value = optionalField(record, columns, column);
+        if (value == null || value.isBlank()) {
+            throw invalid(line, column + " is required");
+        }
+        return value;
+    }
+
+    private static String optionalField(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String column, long line) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw invalid(line, "invalid " + column + ": " + value);
+        }
+    }
+
+    private static LocalDateTime parseTimestamp(String value, String column, long line, LocalDateTime fallback) {
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LocalDateTime.parse(value.trim().replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw invalid(line, "invalid " + column + ": " + value);
+        }
+    }
+
+    private static ResponseStatusException invalid(long line, String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Line " + line + ": " + message);
+    }
+
+    /**
+     * Hands out ids from activities_seq using the same pooled scheme as Hibernate: each sequence
+     * value v reserves ids (v - 50, v]. The copy connection is busy for the whole load, so values
+     * are fetched many blocks at a time on a second connection.
+     */
+    private static final class IdAllocator {
+
+        private final PreparedStatement nextValues;
+        private final Deque<Long> blocks = new ArrayDeque<>();
+        private long next = 1;
+        private long blockEnd;
+
+        IdAllocator(Connection connection, int blocksPerFetch) throws SQLException {
+            this.nextValues = connection.prepareStatement(
+                    "SELECT nextval('activities_seq') FROM generate_series(1, " + blocksPerFetch + ")");
+        }
+
+        long next() throws SQLException {
+            if (next > blockEnd) {
+                if (blocks.isEmpty()) {
+                    try (ResultSet rs = nextValues.executeQuery()) {
+                        while (rs.next()) {
+                            blocks.add(rs.getLong(1));
+                        }
+                    }
+                }
+                blockEnd = blocks.removeFirst();
+                next = blockEnd - ID_BLOCK_SIZE + 1;
+            }
+            return next++;
+        }
+    }
+}
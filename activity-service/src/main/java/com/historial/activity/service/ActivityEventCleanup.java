@@ -0,0 +1,34 @@
+package com.historial.activity.service;
+
+import com.historial.activity.repository.ActivityEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Purges outbox events older than the retention period. Consumers that fall further behind
+ * recover through their periodic reconciliation against the summary endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActivityEventCleanup {
+
+    private final ActivityEventRepository activityEventRepository;
+
+    @Value("${activity.events.retention:P7D}")
+    private Duration retention;
+
+    @Scheduled(cron = "${activity.events.cleanup-cron:0 0 3 * * *}")
+    @Transactional
+    public void purgeExpiredEvents() {
+        int deleted = activityEventRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        log.debug("Purged {} activity events older than {}", deleted, retention);
+    }
+}
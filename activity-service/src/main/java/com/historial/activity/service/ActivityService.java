@@ -1,83 +1,272 @@
 package com.historial.activity.service;
 
+import com.historial.activity.dto.ActivityCursor;
+import com.historial.activity.dto.ActivityEventResponse;
+import com.historial.activity.dto.ActivityFilter;
+import com.historial.activity.dto.ActivityHistogramEntry;
+import com.historial.activity.dto.ActivityListItem;
+import com.historial.activity.dto.ActivityPage;
 import com.historial.activity.dto.ActivityRequest;
 import com.historial.activity.dto.ActivityResponse;
+import com.historial.activity.dto.ActivitySearchCursor;
+import com.historial.activity.dto.ActivitySearchPage;
+import com.historial.activity.dto.ActivitySummaryResponse;
 import com.historial.activity.model.Activity;
+import com.historial.activity.model.ActivityEvent;
+import com.historial.activity.repository.ActivityEventRepository;
 import com.historial.activity.repository.ActivityRepository;
+import com.historial.activity.repository.ActivitySpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ActivityService {
 
     private final ActivityRepository activityRepository;
+    // Writes flush the activity change before saving its event. The flush takes the activities_version
+    // row lock (V7) until commit, so event ids are handed out in commit order and report-service,
+    // which reads events after the last id it applied, cannot skip one that commits late.
+    private final ActivityEventRepository activityEventRepository;
 
-    public ActivityResponse createActivity(ActivityRequest request) {
-        Activity activity = Activity.builder()
-                .tipo(request.getTipo())
-                .categoria(request.getCategoria())
-                .equipo(request.getEquipo())
-                .tecnico(request.getTecnico())
-                .numFicha(request.getNumFicha())
-                .turno(request.getTurno())
-                .descripcion(request.getDescripcion())
-                .build();
+    @Value("${activity.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${activity.pagination.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${activity.streaming.fetch-size:500}")
+    private int streamFetchSize;
 
-        Activity savedActivity = activityRepository.save(activity);
+    @Value("${activity.events.max-batch-size:1000}")
+    private int maxEventBatchSize;
+
+    @Transactional
+    public ActivityResponse createActivity(ActivityRequest request) {
+        Activity savedActivity = activityRepository.saveAndFlush(request.toActivity());
+        activityEventRepository.save(ActivityEvent.created(savedActivity));
         return ActivityResponse.fromActivity(savedActivity);
     }
 
+    /**
+     * Version of the activity data, used as the ETag of reads. Callers read it before the data,
+     * so a response never carries a version older than its content.
+     */
+    @Transactional(readOnly = true)
+    public long getDataVersion() {
+        return activityRepository.findTableVersion();
+    }
+
+    @Transactional(readOnly = true)
     public List<ActivityResponse> getAllActivities() {
-        return activityRepository.findAll().stream()
-                .map(ActivityResponse::fromActivity)
-                .collect(Collectors.toList());
+        return activityRepository.findAllResponses();
     }
 
+    @Transactional(readOnly = true)
     public ActivityResponse getActivityById(Long id) {
         Activity activity = activityRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Activity not found with id: " + id));
         return ActivityResponse.fromActivity(activity);
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityResponse> getActivitiesByType(Activity.ActivityType tipo) {
-        return activityRepository.findByTipo(tipo).stream()
-                .map(ActivityResponse::fromActivity)
-                .collect(Collectors.toList());
+        return activityRepository.findByTipo(tipo);
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityResponse> getActivitiesByCategory(Activity.Category categoria) {
-        return activityRepository.findByCategoria(categoria).stream()
-                .map(ActivityResponse::fromActivity)
-                .collect(Collectors.toList());
+        return activityRepository.findByCategoria(categoria);
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityResponse> getActivitiesByEquipo(String equipo) {
-        return activityRepository.findByEquipoOrderByCreatedAtDesc(equipo).stream()
-                .map(ActivityResponse::fromActivity)
-                .collect(Collectors.toList());
+        return activityRepository.findByEquipoOrderByCreatedAtDesc(equipo);
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityResponse> getActivitiesByNumFicha(String numFicha) {
-        return activityRepository.findByNumFicha(numFicha).stream()
-                .map(ActivityResponse::fromActivity)
-                .collect(Collectors.toList());
+        return activityRepository.findByNumFicha(numFicha);
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityResponse> getActivitiesByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return activityRepository.findByDateRange(startDate, endDate).stream()
-                .map(ActivityResponse::fromActivity)
+        return activityRepository.findByDateRange(startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
+    public ActivityPage getActivitiesPage(ActivityFilter filter, String cursor, Integer size) {
+        int limit = resolvePageSize(size);
+        // Fetch one extra row to find out whether another page exists
+        List<ActivityListItem> rows = activityRepository.findPage(filter, ActivityCursor.decode(cursor), limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<ActivityListItem> pageRows = hasMore ? rows.subList(0, limit) : rows;
+
+        return ActivityPage.builder()
+                .content(pageRows)
+                .size(pageRows.size())
+                .nextCursor(hasMore ? ActivityCursor.of(pageRows.get(pageRows.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * Same as {@link #getActivitiesPage(ActivityFilter, String, Integer)}, optionally with the total number of
+     * matches. The count visits every matching row, so clients should ask for it once rather than per page.
+     */
+    @Transactional(readOnly = true)
+    public ActivityPage getActivitiesPage(ActivityFilter filter, String cursor, Integer size, boolean includeCount) {
+        ActivityPage page = getActivitiesPage(filter, cursor, size);
+        if (includeCount) {
+            page.setTotalCount(activityRepository.count(ActivitySpecifications.matching(filter)));
+        }
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public ActivitySearchPage searchActivities(String query, Activity.ActivityType tipo, String equipo,
+                                               String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+        int limit = resolvePageSize(size);
+        ActivitySearchCursor after = ActivitySearchCursor.decode(cursor);
+        List<Object[]> rows = activityRepository.searchByDescripcion(
+                query,
+                tipo != null ? tipo.name() : null,
+                equipo,
+                after != null ? after.getRank() : Float.MAX_VALUE,
+                after != null ? after.getId() : Long.MAX_VALUE,
+                limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Object[]> pageRows = hasMore ? rows.subList(0, limit) : rows;
+
+        List<ActivitySearchPage.Hit> hits = pageRows.stream()
+                .map(row -> new ActivitySearchPage.Hit(((Number) row[10]).floatValue(), toSearchResponse(row)))
+                .collect(Collectors.toList());
+        ActivitySearchPage.Hit last = hits.isEmpty() ? null : hits.get(hits.size() - 1);
+        return ActivitySearchPage.builder()
+                .content(hits)
+                .size(hits.size())
+                .nextCursor(hasMore ? new ActivitySearchCursor(last.getRank(), last.getActivity().getId()).encode() : null)
+                .build();
+    }
+
+    private static ActivityResponse toSearchResponse(Object[] row) {
+        return ActivityResponse.builder()
+                .id(((Number) row[0]).longValue())
+                .tipo(Activity.ActivityType.valueOf((String) row[1]))
+                .categoria(Activity.Category.valueOf((String) row[2]))
+                .equipo((String) row[3])
+                .tecnico((String) row[4])
+                .numFicha((String) row[5])
+                .turno((String) row[6])
+                .descripcion((String) row[7])
+                .createdAt(toLocalDateTime(row[8]))
+                .updatedAt(toLocalDateTime(row[9]))
+                .build();
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    /**
+     * Hands every matching activity to the consumer, newest first, without holding the result set in memory.
+     * Rows are projected straight to responses, so the persistence context stays empty.
+     */
+    @Transactional(readOnly = true)
+    public void streamActivities(ActivityFilter filter, Consumer<ActivityResponse> consumer) {
+        try (Stream<ActivityResponse> activities = activityRepository.streamAll(filter, streamFetchSize)) {
+            activities.forEach(consumer);
+        }
+    }
+
+    /**
+     * Counts and the last outbox event id are read from one snapshot, so a consumer can apply
+     * events after {@code lastEventId} on top of these counts without double counting.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ActivitySummaryResponse getActivitySummary() {
+        return ActivitySummaryResponse.builder()
+                .lastEventId(activityEventRepository.findLastEventId())
+                .totalActivities(activityRepository.count())
+                .activitiesByType(toCountMap(activityRepository.countByTipo()))
+                .activitiesByCategory(toCountMap(activityRepository.countByCategoria()))
+                .activitiesByEquipo(toCountMap(activityRepository.countByEquipo()))
+                .activitiesByTurno(toCountMap(activityRepository.countByTurno()))
+                .build();
+    }
+
+    private Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                counts.put(String.valueOf(row[0]), (Long) row[1]);
+            }
+        }
+        return counts;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ActivityHistogramEntry> getHistogram(
+            ActivityHistogramEntry.Interval interval,
+            ActivityHistogramEntry.Dimension groupBy,
+            LocalDateTime from,
+            LocalDateTime to,
+            Activity.ActivityType tipo,
+            String equipo
+    ) {
+        return activityRepository.histogram(interval, groupBy, from, to, tipo, equipo);
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        // Native timestamp columns come back as Timestamp or LocalDateTime depending on the driver mapping
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ActivityEventResponse> getEventsAfter(Long afterId, Integer limit) {
+        int batchSize = limit == null || limit <= 0 ? maxEventBatchSize : Math.min(limit, maxEventBatchSize);
+        return activityEventRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(batchSize)).stream()
+                .map(ActivityEventResponse::fromEvent)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public ActivityResponse updateActivity(Long id, ActivityRequest request) {
         Activity activity = activityRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Activity not found with id: " + id));
 
+        ActivityEvent.ActivityEventBuilder event = ActivityEvent.builder()
+                .activityId(activity.getId())
+                .activityCreatedAt(activity.getCreatedAt())
+                .type(ActivityEvent.EventType.UPDATED)
+                .previousTipo(activity.getTipo())
+                .previousCategoria(activity.getCategoria())
+                .previousEquipo(activity.getEquipo())
+                .previousTurno(activity.getTurno());
+
         activity.setTipo(request.getTipo());
         activity.setCategoria(request.getCategoria());
         activity.setEquipo(request.getEquipo());
@@ -85,14 +274,30 @@ public class ActivityService {
         activity.setTurno(request.getTurno());
         activity.setDescripcion(request.getDescripcion());
 
-        Activity updatedActivity = activityRepository.save(activity);
+        Activity updatedActivity = activityRepository.saveAndFlush(activity);
+        activityEventRepository.save(event
+                .tipo(updatedActivity.getTipo())
+                .categoria(updatedActivity.getCategoria())
+                .equipo(updatedActivity.getEquipo())
+                .turno(updatedActivity.getTurno())
+                .build());
         return ActivityResponse.fromActivity(updatedActivity);
     }
 
+    @Transactional
     public void deleteActivity(Long id) {
-        if (!activityRepository.existsById(id)) {
-            throw new RuntimeException("Activity not found with id: " + id);
-        }
-        activityRepository.deleteById(id);
+        Activity activity = activityRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Activity not found with id: " + id));
+        activityRepository.delete(activity);
+        activityRepository.flush();
+        activityEventRepository.save(ActivityEvent.builder()
+                .activityId(activity.getId())
+                .activityCreatedAt(activity.getCreatedAt())
+                .type(ActivityEvent.EventType.DELETED)
+                .previousTipo(activity.getTipo())
+                .previousCategoria(activity.getCategoria())
+                .previousEquipo(activity.getEquipo())
+                .previousTurno(activity.getTurno())
+                .build());
     }
 }
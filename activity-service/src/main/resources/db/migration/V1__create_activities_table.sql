@@ -0,0 +1,14 @@
+-- Baseline schema, matching what ddl-auto: update generated before migrations were introduced.
+-- Existing databases are baselined at this version and skip it.
+CREATE TABLE IF NOT EXISTS activities (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    tipo        VARCHAR(255) NOT NULL CHECK (tipo IN ('FALLA', 'RUTINA', 'TRABAJO_TALLER')),
+    categoria   VARCHAR(255) NOT NULL CHECK (categoria IN ('ZONA_CALIENTE', 'ZONA_FRIA', 'TALLER', 'OTROS')),
+    equipo      VARCHAR(255) NOT NULL,
+    tecnico     VARCHAR(255) NOT NULL,
+    num_ficha   VARCHAR(255) NOT NULL,
+    turno       VARCHAR(255) NOT NULL,
+    descripcion TEXT         NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
@@ -0,0 +1,19 @@
+-- Indexes shaped after the ActivityRepository queries. Every list is ordered by
+-- (created_at DESC, id DESC), so the trailing columns let keyset pages and
+-- ORDER BY be answered straight from the index without a sort step.
+
+-- findByEquipoOrderByCreatedAtDesc, /equipo/{equipo}/page
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activities_equipo_created_at
+    ON activities (equipo, created_at DESC, id DESC);
+
+-- findByNumFicha, /ficha/{numFicha}/page
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activities_num_ficha_created_at
+    ON activities (num_ficha, created_at DESC, id DESC);
+
+-- findByDateRange and unfiltered pages
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activities_created_at
+    ON activities (created_at DESC, id DESC);
+
+-- findByTipoAndCategoria, and findByTipo through the leading column
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activities_tipo_categoria
+    ON activities (tipo, categoria);
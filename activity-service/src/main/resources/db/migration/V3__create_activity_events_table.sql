@@ -0,0 +1,19 @@
+-- Transactional outbox of activity changes, written in the same transaction as the change
+-- itself and read in id order by report-service to keep its summary counters current.
+CREATE TABLE IF NOT EXISTS activity_events (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    activity_id        BIGINT       NOT NULL,
+    type               VARCHAR(255) NOT NULL CHECK (type IN ('CREATED', 'UPDATED', 'DELETED')),
+    tipo               VARCHAR(255) CHECK (tipo IN ('FALLA', 'RUTINA', 'TRABAJO_TALLER')),
+    categoria          VARCHAR(255) CHECK (categoria IN ('ZONA_CALIENTE', 'ZONA_FRIA', 'TALLER', 'OTROS')),
+    equipo             VARCHAR(255),
+    turno              VARCHAR(255),
+    previous_tipo      VARCHAR(255) CHECK (previous_tipo IN ('FALLA', 'RUTINA', 'TRABAJO_TALLER')),
+    previous_categoria VARCHAR(255) CHECK (previous_categoria IN ('ZONA_CALIENTE', 'ZONA_FRIA', 'TALLER', 'OTROS')),
+    previous_equipo    VARCHAR(255),
+    previous_turno     VARCHAR(255),
+    created_at         TIMESTAMP(6) NOT NULL
+);
+
+-- Retention purge
+CREATE INDEX IF NOT EXISTS idx_activity_events_created_at ON activity_events (created_at);
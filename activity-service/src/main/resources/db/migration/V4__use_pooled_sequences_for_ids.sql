@@ -0,0 +1,16 @@
+-- IDENTITY ids force Hibernate to insert row by row. Pooled sequences (INCREMENT BY must match
+-- the entity allocationSize) let it hand out ids in memory and batch the inserts.
+-- Each sequence starts one block above the current max id, because the pooled optimizer
+-- uses the block ending at the returned value.
+
+CREATE SEQUENCE IF NOT EXISTS activities_seq INCREMENT BY 50;
+SELECT setval('activities_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM activities), false);
+ALTER TABLE activities ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE activities ALTER COLUMN id SET DEFAULT nextval('activities_seq');
+ALTER SEQUENCE activities_seq OWNED BY activities.id;
+
+CREATE SEQUENCE IF NOT EXISTS activity_events_seq INCREMENT BY 50;
+SELECT setval('activity_events_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM activity_events), false);
+ALTER TABLE activity_events ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE activity_events ALTER COLUMN id SET DEFAULT nextval('activity_events_seq');
+ALTER SEQUENCE activity_events_seq OWNED BY activity_events.id;
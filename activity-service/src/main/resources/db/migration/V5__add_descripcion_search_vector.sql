@@ -0,0 +1,6 @@
+-- Full-text search over descripcion. Notes are written in Spanish, so the spanish
+-- configuration handles stemming and stop words. STORED keeps the vector off the
+-- query path; adding the column rewrites the table once.
+ALTER TABLE activities
+    ADD COLUMN IF NOT EXISTS descripcion_tsv tsvector
+        GENERATED ALWAYS AS (to_tsvector('spanish', coalesce(descripcion, ''))) STORED;
@@ -0,0 +1,3 @@
+-- /api/activities/search
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_activities_descripcion_tsv
+    ON activities USING GIN (descripcion_tsv);
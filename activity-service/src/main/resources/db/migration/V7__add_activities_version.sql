@@ -0,0 +1,23 @@
+-- Single-row version of the activities table, used as the ETag of activity reads. A statement
+-- trigger bumps it inside the writing transaction, so a reader that sees the new version also
+-- sees the change; concurrent writers queue on the row until the earlier one commits.
+CREATE TABLE IF NOT EXISTS activities_version (
+    id      BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    version BIGINT  NOT NULL
+);
+
+INSERT INTO activities_version (version) VALUES (1) ON CONFLICT DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_activities_version() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE activities_version SET version = version + 1;
+    RETURN NULL;
+END;
+$$;
+
+-- Per statement, so a COPY or batched insert bumps it once per statement rather than per row
+CREATE TRIGGER activities_version_bump
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON activities
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_activities_version();
@@ -0,0 +1,3 @@
+-- Creation time of the changed activity, so consumers can tell which time buckets an edit or
+-- deletion touches. Null for events written before this column existed.
+ALTER TABLE activity_events ADD COLUMN IF NOT EXISTS activity_created_at TIMESTAMP(6);
@@ -0,0 +1,8 @@
+-- Pooled ids (V4) are handed out in blocks per instance, so event ids stopped following commit
+-- order and report-service, which reads events after the last id it applied, could skip events.
+-- Event ids go back to IDENTITY and are taken one at a time by the writing transaction.
+ALTER TABLE activity_events ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS activity_events_seq;
+ALTER TABLE activity_events ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+SELECT setval(pg_get_serial_sequence('activity_events', 'id'),
+              (SELECT COALESCE(MAX(id), 0) + 1 FROM activity_events), false);
@@ -0,0 +1,160 @@
+package com.historial.activity.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Routes against two in-memory H2 databases, each holding a row that names it.
+ */
+@DisplayName("Read Replica Routing DataSource Tests")
+class ReadReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @Test
+    @DisplayName("Should read from the replica in read-only transactions")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        // Given
+        DataSource routing = routing(primary, replica);
+
+        // When
+        String node = inTransaction(routing, true);
+
+        // Then
+        assertThat(node).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should use the primary in read-write transactions")
+    void shouldRouteReadWriteTransactionsToPrimary() {
+        // Given
+        DataSource routing = routing(primary, replica);
+
+        // When
+        String node = inTransaction(routing, false);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should use the primary outside transactions")
+    void shouldRouteNonTransactionalReadsToPrimary() {
+        // Given
+        DataSource routing = routing(primary, replica);
+
+        // When
+        String node = new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is unavailable")
+    void shouldFallBackToPrimaryWhenReplicaFails() throws SQLException {
+        // Given
+        DataSource unavailable = mock(DataSource.class);
+        when(unavailable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        DataSource routing = routing(primary, unavailable);
+
+        // When
+        String node = inTransaction(routing, true);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should not try the replica again until the back-off has passed")
+    void shouldSkipReplicaDuringBackoff() throws SQLException {
+        // Given
+        DataSource unavailable = mock(DataSource.class);
+        when(unavailable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        DataSource routing = routing(primary, unavailable, Duration.ofMinutes(1));
+        inTransaction(routing, true);
+
+        // When
+        String node = inTransaction(routing, true);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+        verify(unavailable, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should read from the replica again once it recovers after the back-off")
+    void shouldReturnToReplicaAfterBackoff() throws SQLException {
+        // Given
+        DataSource recovering = mock(DataSource.class);
+        when(recovering.getConnection())
+                .thenThrow(new SQLException("Connection refused"))
+                .thenAnswer(invocation -> replica.getConnection());
+        DataSource routing = routing(primary, recovering, Duration.ZERO);
+
+        // When
+        String duringOutage = inTransaction(routing, true);
+        String afterRecovery = inTransaction(routing, true);
+
+        // Then
+        assertThat(duringOutage).isEqualTo("primary");
+        assertThat(afterRecovery).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should use the primary when no replica is configured")
+    void shouldUsePrimaryWithoutReplica() {
+        // Given
+        DataSource routing = routing(primary, null);
+
+        // When
+        String node = inTransaction(routing, true);
+
+        // Then
+        assertThat(node).isEqualTo("primary");
+    }
+
+    private static DataSource routing(DataSource primary, DataSource replica) {
+        return routing(primary, replica, Duration.ofMinutes(1));
+    }
+
+    private static DataSource routing(DataSource primary, DataSource replica, Duration failureBackoff) {
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica, failureBackoff));
+    }
+
+    private static String inTransaction(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbcTemplate.execute("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
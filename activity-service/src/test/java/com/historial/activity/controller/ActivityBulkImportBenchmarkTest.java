@@ -0,0 +1,118 @@
+package com.historial.activity.controller;
+
+import com.historial.activity.dto.BulkImportResult;
+import com.historial.activity.model.Activity;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Rows per second through POST /api/activities/bulk against one POST per row, over HTTP on a real
+ * Postgres. Run with {@code mvn test -Pbenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.historial.activity=INFO",
+        "management.tracing.enabled=false"})
+@Testcontainers
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Activity Bulk Import Benchmark")
+class ActivityBulkImportBenchmarkTest {
+
+    private static final int SINGLE_ROWS = 2_000;
+    private static final int BULK_ROWS = 50_000;
+    private static final int WARMUP_ROWS = 500;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE activities, activity_events");
+    }
+
+    @Test
+    @DisplayName("Should import at least ten times more rows per second in bulk than one POST per row")
+    void shouldBeTenTimesFasterInBulk() {
+        // Given
+        postSingle(WARMUP_ROWS);
+        postBulk(WARMUP_ROWS);
+
+        // When
+        double singleRowsPerSecond = SINGLE_ROWS / seconds(() -> postSingle(SINGLE_ROWS));
+        double bulkRowsPerSecond = BULK_ROWS / seconds(() -> postBulk(BULK_ROWS));
+
+        // Then
+        log.info("Single-row POSTs: {} rows/s, /bulk: {} rows/s ({}x)", Math.round(singleRowsPerSecond),
+                Math.round(bulkRowsPerSecond), String.format("%.1f", bulkRowsPerSecond / singleRowsPerSecond));
+        assertThat(bulkRowsPerSecond).isGreaterThanOrEqualTo(10 * singleRowsPerSecond);
+
+        long expected = 2L * WARMUP_ROWS + SINGLE_ROWS + BULK_ROWS;
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM activities", Long.class)).isEqualTo(expected);
+        // One CREATED event per activity, with event ids in the same order as activity ids
+        assertThat(jdbcTemplate.queryForList("SELECT activity_id FROM activity_events ORDER BY id", Long.class))
+                .hasSize((int) expected)
+                .isSorted();
+    }
+
+    private void postSingle(int rows) {
+        for (int i = 0; i < rows; i++) {
+            ResponseEntity<String> response = restTemplate.postForEntity("/api/activities", activity(i), String.class);
+            assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+        }
+    }
+
+    private void postBulk(int rows) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        List<Map<String, Object>> body = IntStream.range(0, rows).mapToObj(this::activity).toList();
+        BulkImportResult result = restTemplate.postForObject("/api/activities/bulk", new HttpEntity<>(body, headers),
+                BulkImportResult.class);
+        assertThat(result.getImported()).isEqualTo(rows);
+    }
+
+    private Map<String, Object> activity(int i) {
+        return Map.of(
+                "tipo", Activity.ActivityType.values()[i % 3].name(),
+                "categoria", Activity.Category.values()[i % 4].name(),
+                "equipo", "Equipo " + i % 50,
+                "tecnico", "Tecnico " + i % 20,
+                "numFicha", String.valueOf(10000 + i % 200),
+                "turno", "A",
+                "descripcion", "Revision de quemador, orden " + i);
+    }
+
+    private static double seconds(Runnable work) {
+        long startedAt = System.nanoTime();
+        work.run();
+        return (System.nanoTime() - startedAt) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.historial.activity.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Scrapes /actuator/prometheus on the management port the way Prometheus would.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.server.port=0",
+        "spring.jpa.show-sql=false"})
+@AutoConfigureObservability
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Metrics Endpoint Tests")
+class MetricsEndpointTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("Should time repository calls once, as spring.data.repository.invocations")
+    void shouldExposeRepositoryMetrics() {
+        // Given
+        restTemplate.getForEntity("/api/activities/equipo/Horno 1", String.class);
+
+        // When
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        // Then
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{[^}]*"
+                        + "method=\"findByEquipoOrderByCreatedAtDesc\"[^}]*repository=\"ActivityRepository\"")
+                .doesNotContain("activity_repository_seconds", "activity_repository_active_seconds")
+                .contains("http_server_requests_seconds_bucket")
+                .contains("hikaricp_connections_active");
+    }
+
+    @Test
+    @DisplayName("Should not serve metrics on the public port")
+    void shouldNotExposeMetricsOnPublicPort() {
+        // When
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        // Then
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
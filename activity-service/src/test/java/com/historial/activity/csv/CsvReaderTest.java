@@ -0,0 +1,96 @@
+package com.historial.activity.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CsvReader parsing and line tracking
+ */
+@DisplayName("CSV Reader Tests")
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("Should keep separators and doubled quotes inside quoted fields")
+    void shouldParseQuotedFields() throws IOException {
+        // Given
+        CsvReader csv = reader("Horno 1,\"Perez, Juan\",\"cambio de \"\"resistencia\"\"\",\"\"\n");
+
+        // When
+        List<String> record = csv.readRecord();
+
+        // Then
+        assertThat(record).containsExactly("Horno 1", "Perez, Juan", "cambio de \"resistencia\"", "");
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should end records on CRLF, on a bare LF and at end of input")
+    void shouldSplitRecordsOnLineBreaks() throws IOException {
+        // Given
+        CsvReader csv = reader("a,b\r\nc,d\ne,f");
+
+        // When / Then
+        assertThat(csv.readRecord()).containsExactly("a", "b");
+        assertThat(csv.getRecordLine()).isEqualTo(1);
+        assertThat(csv.readRecord()).containsExactly("c", "d");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.readRecord()).containsExactly("e", "f");
+        assertThat(csv.getRecordLine()).isEqualTo(3);
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep line breaks inside quoted fields and count them for later records")
+    void shouldReadMultilineFields() throws IOException {
+        // Given
+        CsvReader csv = reader("equipo,descripcion\r\nHorno 1,\"primera\r\nsegunda\nlinea\"\r\nHorno 2,x\r\n");
+        csv.readRecord();
+
+        // When
+        List<String> multiline = csv.readRecord();
+        long multilineStart = csv.getRecordLine();
+        List<String> next = csv.readRecord();
+
+        // Then
+        assertThat(multiline).containsExactly("Horno 1", "primera\r\nsegunda\nlinea");
+        assertThat(multilineStart).isEqualTo(2);
+        assertThat(next).containsExactly("Horno 2", "x");
+        assertThat(csv.getRecordLine()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should read a trailing empty line as one empty field")
+    void shouldReadTrailingEmptyLine() throws IOException {
+        // Given
+        CsvReader csv = reader("a,b\r\n\r\n");
+
+        // When / Then
+        assertThat(csv.readRecord()).containsExactly("a", "b");
+        assertThat(csv.readRecord()).containsExactly("");
+        assertThat(csv.getRecordLine()).isEqualTo(2);
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a quoted field that never closes, naming the line it started on")
+    void shouldRejectUnterminatedQuote() throws IOException {
+        // Given
+        CsvReader csv = reader("a,b\n1,\"sin cierre\n2,x\n");
+        csv.readRecord();
+
+        // When / Then
+        assertThatThrownBy(csv::readRecord)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unterminated quoted field starting on line 2");
+    }
+
+    private static CsvReader reader(String input) {
+        return new CsvReader(new StringReader(input));
+    }
+}
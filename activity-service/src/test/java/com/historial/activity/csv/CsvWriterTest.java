@@ -0,0 +1,63 @@
+package com.historial.activity.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for CsvWriter quoting and formula escaping
+ */
+@DisplayName("CSV Writer Tests")
+class CsvWriterTest {
+
+    @Test
+    @DisplayName("Should prefix text that a spreadsheet would evaluate as a formula")
+    void shouldEscapeFormulas() throws IOException {
+        // Given
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out, true);
+
+        // When
+        csv.writeRecord("=HYPERLINK(\"http://x\")", "+1", "-2", "@SUM(A1)", "\tcmd", "\rcmd", "Horno 1", "a=b", "");
+        csv.flush();
+
+        // Then
+        assertThat(out.toString()).isEqualTo(
+                "\"'=HYPERLINK(\"\"http://x\"\")\",'+1,'-2,'@SUM(A1),'\tcmd,\"'\rcmd\",Horno 1,a=b,\"\"\r\n");
+    }
+
+    @Test
+    @DisplayName("Should leave numbers and timestamps alone when escaping formulas")
+    void shouldNotEscapeNonTextFields() throws IOException {
+        // Given
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out, true);
+
+        // When
+        csv.writeRecord(-5L, LocalDateTime.of(2024, 1, 2, 3, 4), null);
+        csv.flush();
+
+        // Then
+        assertThat(out.toString()).isEqualTo("-5,2024-01-02T03:04,\r\n");
+    }
+
+    @Test
+    @DisplayName("Should write values unchanged for COPY input")
+    void shouldNotEscapeByDefault() throws IOException {
+        // Given
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+
+        // When
+        csv.writeRecord("=1+1", "-", "x,y");
+        csv.flush();
+
+        // Then
+        assertThat(out.toString()).isEqualTo("=1+1,-,\"x,y\"\r\n");
+    }
+}
@@ -0,0 +1,72 @@
+package com.historial.activity.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Seed data and the median harness shared by the repository benchmarks.
+ */
+final class ActivityBenchmarkSupport {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ActivityBenchmarkSupport() {
+    }
+
+    /**
+     * 500 equipos, 2,000 fichas and one activity per minute from 2024-01-01. FALLA in OTROS is
+     * one row in 300, the kind of narrow combination the tipo/categoria report asks for.
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.update("""
+                INSERT INTO activities (tipo, categoria, equipo, tecnico, num_ficha, turno, descripcion, created_at, updated_at)
+                SELECT (ARRAY['FALLA', 'RUTINA', 'TRABAJO_TALLER'])[1 + g % 3],
+                       CASE WHEN g % 100 = 0 THEN 'OTROS'
+                            ELSE (ARRAY['ZONA_CALIENTE', 'ZONA_FRIA', 'TALLER'])[1 + (g / 3) % 3] END,
+                       'Equipo ' || g % 500,
+                       'Tecnico ' || g % 200,
+                       (10000 + g % 2000)::text,
+                       (ARRAY['A', 'B', 'C'])[1 + (g / 7) % 3],
+                       'Revision de quemador y ajuste de valvula, orden ' || g,
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '1 minute',
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '1 minute'
+                FROM generate_series(1, ?) AS g
+                """, rows);
+        jdbcTemplate.execute("ANALYZE activities");
+    }
+
+    /** Median milliseconds and bytes allocated by the calling thread per call, after a few warm-up runs. */
+    static Sample median(EntityManager entityManager, int warmupRuns, int measuredRuns, Runnable call) {
+        for (int i = 0; i < warmupRuns; i++) {
+            run(entityManager, call);
+        }
+        double[] millis = new double[measuredRuns];
+        long[] bytes = new long[measuredRuns];
+        for (int i = 0; i < measuredRuns; i++) {
+            Sample sample = run(entityManager, call);
+            millis[i] = sample.millis();
+            bytes[i] = sample.allocatedBytes();
+        }
+        Arrays.sort(millis);
+        Arrays.sort(bytes);
+        return new Sample(millis[measuredRuns / 2], bytes[measuredRuns / 2]);
+    }
+
+    private static Sample run(EntityManager entityManager, Runnable call) {
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long startedAt = System.nanoTime();
+        call.run();
+        double millis = (System.nanoTime() - startedAt) / 1_000_000.0;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        // Entities loaded by one run must not make the next one cheaper
+        entityManager.clear();
+        return new Sample(millis, allocated);
+    }
+
+    record Sample(double millis, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.dto.ActivityFilter;
+import com.historial.activity.model.Activity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that dynamic filters compile to a single query that Postgres can answer from the
+ * V2 indexes. Plans are generic (plan_cache_mode = force_generic_plan) with sequential scans
+ * disabled, over a small analyzed table with 50 equipos and 200 fichas so that indexes with a
+ * more selective leading column win over the created_at one.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.historial.activity.repository.CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Activity Filter Query Plan Tests")
+class ActivityFilterQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.update("""
+                INSERT INTO activities (tipo, categoria, equipo, tecnico, num_ficha, turno, descripcion, created_at, updated_at)
+                SELECT (ARRAY['FALLA', 'RUTINA', 'TRABAJO_TALLER'])[1 + g % 3], 'TALLER', 'Horno ' || g % 50,
+                       'Perez', (10000 + g % 200)::text, (ARRAY['A', 'B', 'C'])[1 + g % 3], 'Revision',
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '1 hour', TIMESTAMP '2024-01-01' + g * INTERVAL '1 hour'
+                FROM generate_series(1, 10000) AS g
+                """);
+        jdbcTemplate.execute("ANALYZE activities");
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    @DisplayName("Should compile a combined filter to one query")
+    void shouldCompileCombinedFilterToOneQuery() {
+        // Given
+        ActivityFilter filter = ActivityFilter.builder()
+                .tipo(Activity.ActivityType.FALLA)
+                .categoria(Activity.Category.TALLER)
+                .equipo("Horno 1")
+                .tecnico("Perez")
+                .numFicha("12345")
+                .turno("A")
+                .startDate(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .endDate(LocalDateTime.of(2024, 12, 31, 23, 59))
+                .build();
+
+        // When
+        activityRepository.findPage(filter, null, 51);
+
+        // Then
+        List<String> statements = CapturingStatementInspector.statements();
+        assertThat(statements).hasSize(1);
+        assertThat(statements.get(0))
+                .contains("tipo", "categoria", "equipo", "tecnico", "num_ficha", "turno", "created_at")
+                .doesNotContain("'Horno 1'");
+    }
+
+    @Test
+    @DisplayName("Should use the equipo index for an equipment and date range filter")
+    void shouldUseEquipoIndex() {
+        // Given
+        ActivityFilter filter = ActivityFilter.builder()
+                .equipo("Horno 1")
+                .startDate(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .endDate(LocalDateTime.of(2024, 12, 31, 23, 59))
+                .build();
+
+        // When
+        String plan = planOf(() -> activityRepository.findPage(filter, null, 51));
+
+        // Then
+        assertThat(plan).contains("idx_activities_equipo_created_at").doesNotContain("Sort");
+    }
+
+    @Test
+    @DisplayName("Should use the num_ficha index when filtering by employee number and other columns")
+    void shouldUseNumFichaIndex() {
+        // Given
+        ActivityFilter filter = ActivityFilter.builder()
+                .numFicha("12345")
+                .tipo(Activity.ActivityType.RUTINA)
+                .turno("B")
+                .build();
+
+        // When
+        String plan = planOf(() -> activityRepository.findPage(filter, null, 51));
+
+        // Then
+        assertThat(plan).contains("idx_activities_num_ficha_created_at").doesNotContain("Sort");
+    }
+
+    @Test
+    @DisplayName("Should count matches through an index")
+    void shouldCountThroughIndex() {
+        // Given
+        ActivityFilter filter = ActivityFilter.builder().equipo("Horno 1").build();
+
+        // When
+        String plan = planOf(() -> activityRepository.count(ActivitySpecifications.matching(filter)));
+
+        // Then
+        assertThat(plan).contains("idx_activities_equipo_created_at");
+    }
+
+    private String planOf(Runnable query) {
+        query.run();
+        List<String> statements = CapturingStatementInspector.statements();
+        assertThat(statements).hasSize(1);
+        // The driver binds no values to a bare EXPLAIN with $n, so the query is prepared server-side
+        // and executed with NULLs; the forced generic plan does not depend on them
+        String sql = statements.get(0);
+        jdbcTemplate.execute("PREPARE filter_query AS " + numberPlaceholders(sql));
+        try {
+            String nulls = String.join(", ", Collections.nCopies(parameterCount(sql), "NULL"));
+            return jdbcTemplate.queryForList("EXPLAIN EXECUTE filter_query(" + nulls + ")", String.class)
+                    .stream()
+                    .collect(Collectors.joining("\n"));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE filter_query");
+        }
+    }
+
+    /** Hibernate emits JDBC '?' placeholders; PREPARE needs Postgres-style $n. */
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static int parameterCount(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+}
@@ -0,0 +1,103 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.dto.ActivityHistogramEntry;
+import com.historial.activity.model.Activity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the date_trunc histogram query for each grouping column and filter
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Activity Histogram Query Tests")
+class ActivityHistogramQueryTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        insert("FALLA", "TALLER", "Horno 1", "A", LocalDateTime.of(2024, 1, 10, 8, 0));
+        insert("FALLA", "TALLER", "Horno 1", "B", LocalDateTime.of(2024, 1, 10, 16, 0));
+        insert("RUTINA", "OTROS", "Horno 2", "A", LocalDateTime.of(2024, 1, 11, 8, 0));
+        insert("FALLA", "ZONA_FRIA", "Horno 2", "C", LocalDateTime.of(2024, 2, 3, 23, 0));
+        // Outside [FROM, TO)
+        insert("FALLA", "TALLER", "Horno 1", "A", TO);
+    }
+
+    @Test
+    @DisplayName("Should count per day and equipo within the window")
+    void shouldGroupByEquipoPerDay() {
+        // When
+        var entries = activityRepository.histogram(ActivityHistogramEntry.Interval.DAY,
+                ActivityHistogramEntry.Dimension.EQUIPO, FROM, TO, null, null);
+
+        // Then
+        assertThat(entries)
+                .extracting(ActivityHistogramEntry::getBucketStart, ActivityHistogramEntry::getKey, ActivityHistogramEntry::getCount)
+                .containsExactly(
+                        tuple(LocalDateTime.of(2024, 1, 10, 0, 0), "Horno 1", 2L),
+                        tuple(LocalDateTime.of(2024, 1, 11, 0, 0), "Horno 2", 1L),
+                        tuple(LocalDateTime.of(2024, 2, 3, 0, 0), "Horno 2", 1L));
+    }
+
+    @Test
+    @DisplayName("Should count per month and turno for one tipo")
+    void shouldGroupByTurnoPerMonthForTipo() {
+        // When
+        var entries = activityRepository.histogram(ActivityHistogramEntry.Interval.MONTH,
+                ActivityHistogramEntry.Dimension.TURNO, FROM, TO, Activity.ActivityType.FALLA, null);
+
+        // Then
+        assertThat(entries)
+                .extracting(ActivityHistogramEntry::getBucketStart, ActivityHistogramEntry::getKey, ActivityHistogramEntry::getCount)
+                .containsExactly(
+                        tuple(FROM, "A", 1L),
+                        tuple(FROM, "B", 1L),
+                        tuple(LocalDateTime.of(2024, 2, 1, 0, 0), "C", 1L));
+    }
+
+    @Test
+    @DisplayName("Should count per week and categoria for one tipo and equipo")
+    void shouldGroupByCategoriaPerWeekForTipoAndEquipo() {
+        // When
+        var entries = activityRepository.histogram(ActivityHistogramEntry.Interval.WEEK,
+                ActivityHistogramEntry.Dimension.CATEGORIA, FROM, TO, Activity.ActivityType.FALLA, "Horno 2");
+
+        // Then
+        assertThat(entries)
+                .extracting(ActivityHistogramEntry::getBucketStart, ActivityHistogramEntry::getKey, ActivityHistogramEntry::getCount)
+                .containsExactly(tuple(LocalDateTime.of(2024, 1, 29, 0, 0), "ZONA_FRIA", 1L));
+    }
+
+    private void insert(String tipo, String categoria, String equipo, String turno, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO activities (tipo, categoria, equipo, tecnico, num_ficha, turno, descripcion, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, 'Perez', '12345', ?, 'Revision', ?, ?)",
+                tipo, categoria, equipo, turno, createdAt, createdAt);
+    }
+}
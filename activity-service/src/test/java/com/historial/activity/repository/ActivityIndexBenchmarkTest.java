@@ -0,0 +1,92 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.model.Activity;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Latency of the indexed repository lookups on 1M activities, first with the V2 indexes and then
+ * with them dropped. Rows are seeded and indexes dropped inside the test transaction, so both roll
+ * back afterwards. Run with {@code mvn test -Pbenchmark}.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Activity Index Benchmark")
+class ActivityIndexBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+    private static final List<String> V2_INDEXES = List.of(
+            "idx_activities_equipo_created_at",
+            "idx_activities_num_ficha_created_at",
+            "idx_activities_created_at",
+            "idx_activities_tipo_categoria");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should answer every lookup faster with the V2 indexes than without them")
+    void shouldBeFasterWithIndexes() {
+        // Given
+        ActivityBenchmarkSupport.seed(jdbcTemplate, ROWS);
+        Map<String, Runnable> lookups = new LinkedHashMap<>();
+        lookups.put("findByEquipoOrderByCreatedAtDesc",
+                () -> activityRepository.findByEquipoOrderByCreatedAtDesc("Equipo 42"));
+        lookups.put("findByNumFicha", () -> activityRepository.findByNumFicha("10042"));
+        lookups.put("findByDateRange", () -> activityRepository.findByDateRange(
+                LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 6, 2, 0, 0)));
+        lookups.put("findByTipoAndCategoria", () -> activityRepository.findByTipoAndCategoria(
+                Activity.ActivityType.FALLA, Activity.Category.OTROS));
+
+        // When
+        Map<String, Double> indexed = measure(lookups);
+        V2_INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX " + index));
+        jdbcTemplate.execute("ANALYZE activities");
+        Map<String, Double> unindexed = measure(lookups);
+
+        // Then
+        lookups.keySet().forEach(name -> log.info("{} on {} rows: {} ms without indexes, {} ms with",
+                name, ROWS, String.format("%.2f", unindexed.get(name)), String.format("%.2f", indexed.get(name))));
+        assertThat(indexed).allSatisfy((name, millis) -> assertThat(millis).as(name).isLessThan(unindexed.get(name)));
+    }
+
+    private Map<String, Double> measure(Map<String, Runnable> lookups) {
+        Map<String, Double> medians = new LinkedHashMap<>();
+        lookups.forEach((name, lookup) -> medians.put(name,
+                ActivityBenchmarkSupport.median(entityManager, WARMUP_RUNS, MEASURED_RUNS, lookup).millis()));
+        return medians;
+    }
+}
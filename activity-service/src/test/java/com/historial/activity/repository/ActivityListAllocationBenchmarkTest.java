@@ -0,0 +1,75 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.dto.ActivityResponse;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Bytes allocated by the calling thread to list 100k activities, loading entities and copying
+ * them into ActivityResponse against selecting ActivityResponse in the query. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Activity List Allocation Benchmark")
+class ActivityListAllocationBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 7;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should allocate less per call with the projection than with entities")
+    void shouldAllocateLessWithProjection() {
+        // Given
+        ActivityBenchmarkSupport.seed(jdbcTemplate, ROWS);
+
+        // When
+        ActivityBenchmarkSupport.Sample entity =
+                measure(() -> activityRepository.findAll().stream().map(ActivityResponse::fromActivity).toList());
+        ActivityBenchmarkSupport.Sample projection = measure(activityRepository::findAllResponses);
+
+        // Then
+        log.info("Listing {} activities: entities {} MB and {} ms per call, projection {} MB and {} ms per call",
+                ROWS, entity.allocatedBytes() / 1_000_000, Math.round(entity.millis()),
+                projection.allocatedBytes() / 1_000_000, Math.round(projection.millis()));
+        assertThat(projection.allocatedBytes()).isLessThan(entity.allocatedBytes());
+    }
+
+    private ActivityBenchmarkSupport.Sample measure(Supplier<List<ActivityResponse>> list) {
+        return ActivityBenchmarkSupport.median(entityManager, WARMUP_RUNS, MEASURED_RUNS,
+                () -> assertThat(list.get()).hasSize(ROWS));
+    }
+}
@@ -0,0 +1,65 @@
+package com.historial.activity.repository;
+
+import com.historial.activity.model.Activity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that every write to activities bumps the V7 table version used for ETags
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Activity Table Version Tests")
+class ActivityTableVersionTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Test
+    @DisplayName("Should bump the version on insert, update and delete")
+    void shouldBumpVersionOnWrites() {
+        // Given
+        long initial = activityRepository.findTableVersion();
+
+        // When
+        Activity activity = activityRepository.saveAndFlush(activity("Horno 1"));
+        long afterInsert = activityRepository.findTableVersion();
+        activity.setEquipo("Horno 2");
+        activityRepository.saveAndFlush(activity);
+        long afterUpdate = activityRepository.findTableVersion();
+        activityRepository.delete(activity);
+        activityRepository.flush();
+        long afterDelete = activityRepository.findTableVersion();
+
+        // Then
+        assertThat(List.of(initial, afterInsert, afterUpdate, afterDelete)).isSorted().doesNotHaveDuplicates();
+    }
+
+    private static Activity activity(String equipo) {
+        return Activity.builder()
+                .tipo(Activity.ActivityType.FALLA)
+                .categoria(Activity.Category.TALLER)
+                .equipo(equipo)
+                .tecnico("Perez")
+                .numFicha("12345")
+                .turno("A")
+                .descripcion("Cambio de resistencia")
+                .build();
+    }
+}
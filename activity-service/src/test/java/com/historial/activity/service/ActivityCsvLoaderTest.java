@@ -0,0 +1,100 @@
+package com.historial.activity.service;
+
+import com.historial.activity.dto.CsvImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Header and row validation of the CSV backfill, loading into a real Postgres through COPY
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ActivityCsvLoader.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Activity CSV Loader Tests")
+class ActivityCsvLoaderTest {
+
+    private static final String HEADER = "tipo,categoria,equipo,tecnico,num_ficha,turno,descripcion\r\n";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ActivityCsvLoader loader;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE activities");
+    }
+
+    @Test
+    @DisplayName("Should read a header that starts with a UTF-8 byte order mark")
+    void shouldStripByteOrderMark() throws Exception {
+        // Given
+        String csv = "\uFEFF" + HEADER
+                + "FALLA,TALLER,Horno 1,Perez,12345,A,Cambio de resistencia\r\n";
+
+        // When
+        CsvImportResult result = loader.load(body(csv));
+
+        // Then
+        assertThat(result.getRows()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT tipo FROM activities", String.class)).isEqualTo("FALLA");
+    }
+
+    @Test
+    @DisplayName("Should reject a header without a required column")
+    void shouldRejectMissingColumn() {
+        // Given
+        String csv = "tipo,categoria,equipo,tecnico,turno,descripcion\r\n"
+                + "FALLA,TALLER,Horno 1,Perez,A,Cambio de resistencia\r\n";
+
+        // When / Then
+        assertThatThrownBy(() -> loader.load(body(csv)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("CSV header is missing column: num_ficha");
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown enum value with its line and load nothing")
+    void shouldRejectInvalidEnumWithLine() {
+        // Given
+        String csv = HEADER
+                + "FALLA,TALLER,Horno 1,Perez,12345,A,\"Cambio de\r\nresistencia\"\r\n"
+                + "AVERIA,TALLER,Horno 2,Perez,12345,B,Ajuste\r\n";
+
+        // When / Then
+        assertThatThrownBy(() -> loader.load(body(csv)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Line 4: invalid tipo: AVERIA");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM activities", Long.class)).isZero();
+    }
+
+    private static InputStream body(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package com.historial.gateway.filter;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Verifies JWT signature and expiry locally before a request is routed, so unauthenticated
+ * traffic never reaches the backend services. The verified subject and role are forwarded
+ * as trusted headers; any client-supplied copies of those headers are discarded.
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_HEADER = "X-User-Ficha";
+    public static final String ROLE_HEADER = "X-User-Role";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final List<String> PUBLIC_PATHS = List.of(
+            "/api/auth/login",
+            "/api/auth/register",
+            "/api/auth/validate"
+    );
+
+    private final JwtParser jwtParser;
+    private final ObservationRegistry observationRegistry;
+
+    public JwtAuthenticationFilter(@Value("${jwt.secret}") String secretKey, ObservationRegistry observationRegistry) {
+        this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)))
+                .build();
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpRequest.Builder forwarded = request.mutate()
+                .headers(headers -> {
+                    headers.remove(USER_HEADER);
+                    headers.remove(ROLE_HEADER);
+                });
+
+        if (HttpMethod.OPTIONS.equals(request.getMethod()) || PUBLIC_PATHS.contains(request.getPath().value())) {
+            return chain.filter(exchange.mutate().request(forwarded.build()).build());
+        }
+
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return unauthorized(exchange);
+        }
+
+        String token = authHeader.substring(BEARER_PREFIX.length());
+        // The server request observation travels in the Reactor context; verification becomes its child span
+        return Mono.deferContextual(context -> {
+            Claims claims;
+            try {
+                claims = verify(token, context.getOrDefault(ObservationThreadLocalAccessor.KEY, null));
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("Rejected token for {}: {}", request.getPath(), e.getMessage());
+                return unauthorized(exchange);
+            }
+
+            if (claims.getSubject() == null) {
+                return unauthorized(exchange);
+            }
+            forwarded.header(USER_HEADER, claims.getSubject());
+            String role = claims.get("role", String.class);
+            if (role != null) {
+                forwarded.header(ROLE_HEADER, role);
+            }
+
+            return chain.filter(exchange.mutate().request(forwarded.build()).build());
+        });
+    }
+
+    private Claims verify(String token, Observation parent) {
+        return Observation.createNotStarted("gateway.jwt.validation", observationRegistry)
+                .contextualName("jwt validation")
+                .parentObservation(parent)
+                .observe(() -> jwtParser.parseSignedClaims(token).getPayload());
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        // Run before the routing filters so rejected requests are never forwarded
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+}
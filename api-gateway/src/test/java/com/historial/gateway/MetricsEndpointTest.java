@@ -0,0 +1,107 @@
+package com.historial.gateway;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Routes one authenticated request to a stand-in activity-service and scrapes /actuator/prometheus
+ * on the management port the way Prometheus would.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability
+@DisplayName("Metrics Endpoint Tests")
+class MetricsEndpointTest {
+
+    private static DisposableServer activityService;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @BeforeAll
+    static void startActivityService() {
+        activityService = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/activities/**", (request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just("[]"))))
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopActivityService() {
+        activityService.disposeNow();
+    }
+
+    @DynamicPropertySource
+    static void activityServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("ACTIVITY_SERVICE_URL", () -> "http://localhost:" + activityService.port());
+    }
+
+    @Test
+    @DisplayName("Should expose per-route gateway metrics in Prometheus format")
+    void shouldExposeRouteMetrics() {
+        // Given
+        webTestClient.get().uri("/api/activities/equipo/Horno 1")
+                .headers(headers -> headers.setBearerAuth(token()))
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        String scrape = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + managementPort)
+                .build()
+                .get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertThat(scrape)
+                .containsPattern("spring_cloud_gateway_requests_seconds_count\\{[^}]*routeId=\"activity-service\"")
+                .contains("http_server_requests_seconds_bucket")
+                .contains("jvm_memory_used_bytes");
+    }
+
+    @Test
+    @DisplayName("Should not serve metrics on the public port")
+    void shouldNotExposeMetricsOnPublicPort() {
+        // When / Then
+        webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private String token() {
+        return Jwts.builder()
+                .subject("1001")
+                .claim("role", "ADMIN")
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .compact();
+    }
+}
@@ -0,0 +1,78 @@
+package com.historial.auth.benchmark;
+
+import com.historial.auth.security.JwtService;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens per second generated and validated by JwtService, against the per-call key and parser
+ * version it replaced (LegacyJwtService). Tokens carry the same claims as a login response.
+ *
+ * <pre>
+ * mvn -pl auth-benchmarks -am package -DskipTests
+ * java -jar auth-benchmarks/target/benchmarks.jar
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final long EXPIRATION = 86_400_000;
+    private static final Map<String, Object> CLAIMS = Map.of(
+            "role", "ADMIN",
+            "nombre", "Admin",
+            "apellido", "Sistema");
+
+    private LegacyJwtService before;
+    private JwtService after;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        before = new LegacyJwtService(SECRET, EXPIRATION);
+        // No meter or tracing handlers, so only the token work is measured
+        after = new JwtService(SECRET, EXPIRATION, ObservationRegistry.NOOP);
+        user = User.withUsername("1001").password("12345678").roles("ADMIN").build();
+        token = after.generateToken(CLAIMS, user);
+    }
+
+    @Benchmark
+    public String generateBefore() {
+        return before.generateToken(CLAIMS, user);
+    }
+
+    @Benchmark
+    public String generateAfter() {
+        return after.generateToken(CLAIMS, user);
+    }
+
+    @Benchmark
+    public boolean validateBefore() {
+        return before.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public boolean validateAfter() {
+        return after.isTokenValid(token, user);
+    }
+}
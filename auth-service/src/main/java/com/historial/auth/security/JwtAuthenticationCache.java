@@ -0,0 +1,99 @@
+package com.historial.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already verified tokens, keyed by SHA-256 digest of the raw token.
+ * Entries expire together with the token itself, so a hit never outlives the JWT.
+ * Each user has an invalidation generation, so a user loaded before a change cannot be cached after it.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final Cache<String, CachedAuthentication> cache;
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+
+    public JwtAuthenticationCache(@Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    public CachedAuthentication get(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    /**
+     * Invalidation generation of the user; read it before loading the user and pass it to {@link #put}.
+     */
+    public long generation(String username) {
+        return generations.getOrDefault(username, 0L);
+    }
+
+    /**
+     * Caches the user unless it was invalidated since {@code generation} was read.
+     */
+    public void put(String token, ParsedToken parsedToken, UserDetails userDetails, long generation) {
+        String key = digest(token);
+        CachedAuthentication entry = new CachedAuthentication(parsedToken, userDetails);
+        cache.put(key, entry);
+        // Checked after the write: an invalidation that ran before it did not see the entry and is caught
+        // here, one that runs after it removes the entry itself
+        if (generation(userDetails.getUsername()) != generation) {
+            cache.asMap().remove(key, entry);
+        }
+    }
+
+    /**
+     * Drops every cached token of the given user, e.g. after the user was changed or removed.
+     */
+    public void invalidateUser(String username) {
+        generations.merge(username, 1L, Long::sum);
+        cache.asMap().values().removeIf(entry -> entry.userDetails().getUsername().equals(username));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record CachedAuthentication(ParsedToken token, UserDetails userDetails) {
+    }
+
+    private static class TokenExpiry implements Expiry<String, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            long remainingMillis = value.token().expiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.historial.auth.security;
 
 import com.historial.auth.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,6 +23,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final JwtAuthenticationCache authenticationCache;
 
     @Override
     protected void doFilterInternal(
@@ -31,7 +33,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userNumFicha;
 
         // If no Authorization header or doesn't start with "Bearer ", continue filter chain
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -41,14 +42,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         // Extract JWT token
         jwt = authHeader.substring(7);
-        userNumFicha = jwtService.extractUsername(jwt);
 
-        // If token contains username and user is not already authenticated
-        if (userNumFicha != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userNumFicha);
-
-            // If token is valid, set authentication
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        // If user is not already authenticated and the token resolves to a user, set authentication
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolveUserDetails(jwt);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -62,4 +60,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Returns the user behind a valid token, or null. Cache hits cost neither a signature
+     * check nor a database query; misses verify the token exactly once.
+     */
+    private UserDetails resolveUserDetails(String jwt) {
+        JwtAuthenticationCache.CachedAuthentication cached = authenticationCache.get(jwt);
+        if (cached != null) {
+            return cached.userDetails();
+        }
+
+        ParsedToken parsedToken;
+        try {
+            parsedToken = jwtService.parse(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        String userNumFicha = parsedToken.subject();
+        if (userNumFicha == null) {
+            return null;
+        }
+
+        // Read before the load, so a change committed while it runs keeps the result out of the cache
+        long generation = authenticationCache.generation(userNumFicha);
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userNumFicha);
+        if (!parsedToken.isValidFor(userDetails)) {
+            return null;
+        }
+
+        authenticationCache.put(jwt, parsedToken, userDetails, generation);
+        return userDetails;
+    }
 }
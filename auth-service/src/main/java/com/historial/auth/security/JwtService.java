@@ -1,9 +1,13 @@
 package com.historial.auth.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -17,19 +21,53 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    // Key and parser are immutable and thread-safe, so they are built once at startup
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+    private final long jwtExpiration;
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final ObservationRegistry observationRegistry;
+
+    public JwtService(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            ObservationRegistry observationRegistry
+    ) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        this.jwtExpiration = jwtExpiration;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * Verifies the signature and expiration of the token once and returns its claims.
+     * Recorded as the jwt.validation timer and span, tagged with the outcome.
+     */
+    public ParsedToken parse(String token) {
+        // Stays on invalid for malformed tokens and bad signatures
+        Observation observation = Observation.createNotStarted("jwt.validation", observationRegistry)
+                .contextualName("jwt validation")
+                .lowCardinalityKeyValue("outcome", "invalid");
+        return observation.observe(() -> {
+            try {
+                ParsedToken parsed = new ParsedToken(jwtParser.parseSignedClaims(token).getPayload());
+                observation.lowCardinalityKeyValue("outcome", "valid");
+                return parsed;
+            } catch (ExpiredJwtException e) {
+                observation.lowCardinalityKeyValue("outcome", "expired");
+                throw e;
+            }
+        });
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parse(token).subject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parse(token).claims());
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -45,40 +83,18 @@ public class JwtService {
             UserDetails userDetails,
             long expiration
     ) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signInKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parse(token).isValidFor(userDetails);
     }
 }
@@ -0,0 +1,30 @@
+package com.historial.auth.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature has already been verified. Subject, expiration and
+ * validity checks all read from here, so a token is parsed once per request.
+ */
+public record ParsedToken(Claims claims) {
+
+    public String subject() {
+        return claims.getSubject();
+    }
+
+    public Date expiration() {
+        return claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        return expiration().before(new Date());
+    }
+
+    public boolean isValidFor(UserDetails userDetails) {
+        final String username = subject();
+        return username != null && username.equals(userDetails.getUsername()) && !isExpired();
+    }
+}
@@ -6,7 +6,9 @@ import com.historial.auth.dto.UserRequest;
 import com.historial.auth.dto.UserResponse;
 import com.historial.auth.model.User;
 import com.historial.auth.repository.UserRepository;
+import com.historial.auth.security.JwtAuthenticationCache;
 import com.historial.auth.security.JwtService;
+import com.historial.auth.security.ParsedToken;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -25,6 +27,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     public LoginResponse login(LoginRequest request) {
         try {
@@ -105,22 +108,23 @@ public class AuthService {
         user.setRole(request.getRole());
 
         User updatedUser = userRepository.save(user);
+        jwtAuthenticationCache.invalidateUser(updatedUser.getNumFicha());
         return UserResponse.fromUser(updatedUser);
     }
 
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        userRepository.delete(user);
+        jwtAuthenticationCache.invalidateUser(user.getNumFicha());
     }
 
     public boolean validateToken(String token) {
         try {
-            String username = jwtService.extractUsername(token);
-            User user = userRepository.findByNumFicha(username)
+            ParsedToken parsedToken = jwtService.parse(token);
+            User user = userRepository.findByNumFicha(parsedToken.subject())
                     .orElseThrow(() -> new RuntimeException("User not found"));
-            return jwtService.isTokenValid(token, user);
+            return parsedToken.isValidFor(user);
         } catch (Exception e) {
             return false;
         }
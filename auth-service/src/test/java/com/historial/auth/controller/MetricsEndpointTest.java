@@ -0,0 +1,64 @@
+package com.historial.auth.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Scrapes /actuator/prometheus on the management port the way Prometheus would.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("test")
+@AutoConfigureObservability
+@DisplayName("Metrics Endpoint Tests")
+class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    @DisplayName("Should expose request, JWT and connection pool metrics in Prometheus format")
+    void shouldExposePrometheusMetrics() {
+        // Given
+        restTemplate.postForEntity("/api/auth/validate", Map.of("token", "not-a-jwt"), String.class);
+
+        // When
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        // Then
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(scrape.getBody())
+                .contains("http_server_requests_seconds_bucket")
+                .contains("uri=\"/api/auth/validate\"")
+                .containsPattern("jwt_validation_seconds_count\\{[^}]*outcome=\"invalid\"")
+                .contains("hikaricp_connections_active")
+                .contains("jvm_memory_used_bytes");
+    }
+
+    @Test
+    @DisplayName("Should not serve metrics anonymously on the application port")
+    void shouldNotExposeMetricsOnApplicationPort() {
+        // When
+        ResponseEntity<String> prometheus = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        ResponseEntity<String> metrics = restTemplate.getForEntity("/actuator/metrics", String.class);
+
+        // Then
+        assertThat(prometheus.getStatusCode().is4xxClientError()).isTrue();
+        assertThat(metrics.getStatusCode().is4xxClientError()).isTrue();
+    }
+}
@@ -0,0 +1,101 @@
+package com.historial.auth.security;
+
+import com.historial.auth.base.BaseUnitTest;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for JwtAuthenticationCache
+ */
+@DisplayName("JWT Authentication Cache Tests")
+class JwtAuthenticationCacheTest extends BaseUnitTest {
+
+    private JwtAuthenticationCache cache;
+
+    @Override
+    protected void setUp() {
+        cache = new JwtAuthenticationCache(100);
+    }
+
+    @Test
+    @DisplayName("Should return cached user for the same token")
+    void shouldReturnCachedUser() {
+        // Given
+        UserDetails userDetails = createUserDetails("testuser");
+        cache.put("token-1", createToken("testuser", 60_000), userDetails, cache.generation("testuser"));
+
+        // When
+        JwtAuthenticationCache.CachedAuthentication cached = cache.get("token-1");
+
+        // Then
+        assertThat(cached).isNotNull();
+        assertThat(cached.userDetails()).isSameAs(userDetails);
+        assertThat(cache.get("token-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not return entries for expired tokens")
+    void shouldNotReturnExpiredEntries() {
+        // Given
+        cache.put("token-1", createToken("testuser", -1_000), createUserDetails("testuser"), cache.generation("testuser"));
+
+        // When & Then
+        assertThat(cache.get("token-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop every token of an invalidated user")
+    void shouldInvalidateUser() {
+        // Given
+        cache.put("token-1", createToken("user1", 60_000), createUserDetails("user1"), cache.generation("user1"));
+        cache.put("token-2", createToken("user1", 60_000), createUserDetails("user1"), cache.generation("user1"));
+        cache.put("token-3", createToken("user2", 60_000), createUserDetails("user2"), cache.generation("user2"));
+
+        // When
+        cache.invalidateUser("user1");
+
+        // Then
+        assertThat(cache.get("token-1")).isNull();
+        assertThat(cache.get("token-2")).isNull();
+        assertThat(cache.get("token-3")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should not cache a user loaded before it was invalidated")
+    void shouldDropEntryLoadedBeforeInvalidation() {
+        // Given
+        long generation = cache.generation("user1");
+        cache.invalidateUser("user1");
+
+        // When
+        cache.put("token-1", createToken("user1", 60_000), createUserDetails("user1"), generation);
+        cache.put("token-2", createToken("user1", 60_000), createUserDetails("user1"), cache.generation("user1"));
+
+        // Then
+        assertThat(cache.get("token-1")).isNull();
+        assertThat(cache.get("token-2")).isNotNull();
+    }
+
+    private ParsedToken createToken(String username, long expiresInMs) {
+        return new ParsedToken(Jwts.claims()
+                .subject(username)
+                .expiration(new Date(System.currentTimeMillis() + expiresInMs))
+                .build());
+    }
+
+    private UserDetails createUserDetails(String username) {
+        return User.builder()
+                .username(username)
+                .password("password")
+                .authorities(Collections.emptyList())
+                .build();
+    }
+}
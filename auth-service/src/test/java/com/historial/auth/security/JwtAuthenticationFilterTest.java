@@ -0,0 +1,89 @@
+package com.historial.auth.security;
+
+import com.historial.auth.base.BaseControllerTest;
+import com.historial.auth.model.User;
+import com.historial.auth.repository.UserRepository;
+import com.historial.auth.service.AuthService;
+import com.historial.auth.util.JwtTestUtil;
+import com.historial.auth.util.TestDataBuilder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements the JWT filter runs per request, through Hibernate statistics.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+@DisplayName("JWT Authentication Filter Tests")
+class JwtAuthenticationFilterTest extends BaseControllerTest {
+
+    // No handler runs SQL here: authenticated requests get 404, anonymous ones 403
+    private static final String AUTHENTICATED_PATH = "/api/auth/no-such-endpoint";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should authenticate a repeated token without querying the database")
+    void shouldNotQueryDatabaseForCachedToken() throws Exception {
+        // Given
+        userRepository.save(TestDataBuilder.buildUser("F1001", "1001001001", "Ana", "Perez"));
+        String token = JwtTestUtil.generateToken("F1001");
+        long firstStatements = authenticatedRequestStatements(token);
+
+        // When
+        long secondStatements = authenticatedRequestStatements(token);
+
+        // Then
+        assertThat(firstStatements).isEqualTo(1);
+        assertThat(secondStatements).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load the user again after it was updated")
+    void shouldReloadUserAfterUpdate() throws Exception {
+        // Given
+        User user = userRepository.save(TestDataBuilder.buildUser("F1002", "1002002002", "Luis", "Gomez"));
+        String token = JwtTestUtil.generateToken("F1002");
+        authenticatedRequestStatements(token);
+
+        // When
+        authService.updateUser(user.getId(), TestDataBuilder.buildUserRequest(
+                "F1002", "1002002002", "Luis", "Gomez", User.Role.ADMIN));
+
+        // Then
+        assertThat(authenticatedRequestStatements(token)).isEqualTo(1);
+        assertThat(authenticatedRequestStatements(token)).isZero();
+    }
+
+    private long authenticatedRequestStatements(String token) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(AUTHENTICATED_PATH).header("Authorization", "Bearer " + token))
+                .andExpect(status().isNotFound());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -2,12 +2,14 @@ package com.historial.auth.security;
 
 import com.historial.auth.base.BaseUnitTest;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -22,15 +24,18 @@ import static org.assertj.core.api.Assertions.*;
 class JwtServiceTest extends BaseUnitTest {
 
     private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private ObservationRegistry observationRegistry;
 
     private static final String TEST_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
     private static final long TEST_EXPIRATION = 86400000; // 24 hours
 
     @Override
     protected void setUp() {
-        jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey", TEST_SECRET);
-        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TEST_EXPIRATION);
+        meterRegistry = new SimpleMeterRegistry();
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        jwtService = new JwtService(TEST_SECRET, TEST_EXPIRATION, observationRegistry);
     }
 
     @Test
@@ -95,9 +100,7 @@ class JwtServiceTest extends BaseUnitTest {
     @DisplayName("Should detect expired token")
     void shouldDetectExpiredToken() {
         // Given
-        JwtService shortLivedJwtService = new JwtService();
-        ReflectionTestUtils.setField(shortLivedJwtService, "secretKey", TEST_SECRET);
-        ReflectionTestUtils.setField(shortLivedJwtService, "jwtExpiration", 1L); // 1ms expiration
+        JwtService shortLivedJwtService = new JwtService(TEST_SECRET, 1L, observationRegistry); // 1ms expiration
 
         UserDetails userDetails = createUserDetails("testuser");
         String token = shortLivedJwtService.generateToken(userDetails);
@@ -148,6 +151,39 @@ class JwtServiceTest extends BaseUnitTest {
         assertThat(role).isEqualTo("ADMIN");
     }
 
+    @Test
+    @DisplayName("Should expose subject and expiration from a single parse")
+    void shouldParseTokenOnce() {
+        // Given
+        UserDetails userDetails = createUserDetails("testuser");
+        String token = jwtService.generateToken(userDetails);
+
+        // When
+        ParsedToken parsedToken = jwtService.parse(token);
+
+        // Then
+        assertThat(parsedToken.subject()).isEqualTo("testuser");
+        assertThat(parsedToken.isExpired()).isFalse();
+        assertThat(parsedToken.isValidFor(userDetails)).isTrue();
+        assertThat(parsedToken.isValidFor(createUserDetails("otheruser"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should time validations by outcome")
+    void shouldRecordValidationTiming() {
+        // Given
+        String token = jwtService.generateToken(createUserDetails("testuser"));
+
+        // When
+        jwtService.parse(token);
+        assertThatThrownBy(() -> jwtService.parse(token + "tampered"));
+
+        // Then
+        assertThat(meterRegistry.get("jwt.validation").tag("outcome", "valid").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.validation").tag("outcome", "invalid").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("jwt.validation").tag("outcome", "expired").timer()).isNull();
+    }
+
     private UserDetails createUserDetails(String username) {
         return org.springframework.security.core.userdetails.User.builder()
                 .username(username)
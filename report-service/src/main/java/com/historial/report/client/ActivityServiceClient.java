@@ -0,0 +1,156 @@
+package com.historial.report.client;
+
+import com.historial.report.dto.ActivityDTO;
+import com.historial.report.dto.ActivityEventDTO;
+import com.historial.report.dto.ActivityHistogram;
+import com.historial.report.dto.ActivityHistogramEntryDTO;
+import com.historial.report.dto.ActivitySummary;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Raw calls to activity-service. Errors are propagated; fallbacks are up to the caller.
+ * Every call names its URI template, which becomes the {@code uri} tag of {@code http.client.requests}.
+ * <p>
+ * All calls are idempotent GETs and share the {@code activity-service} circuit breaker, bulkhead and retry:
+ * transient failures are retried with jittered backoff, and once the breaker opens or the bulkhead is full,
+ * calls fail fast with {@code CallNotPermittedException} / {@code BulkheadFullException}.
+ * <p>
+ * Methods taking {@code ifNoneMatch} send it as {@code If-None-Match} when it is not null; a 304 comes back as a
+ * response entity with that status and no body, and the caller keeps the copy it already has.
+ */
+@Component
+public class ActivityServiceClient {
+
+    static final String INSTANCE = "activity-service";
+
+    private final WebClient activityServiceWebClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+
+    public ActivityServiceClient(
+            WebClient activityServiceWebClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            RetryRegistry retryRegistry
+    ) {
+        this.activityServiceWebClient = activityServiceWebClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE);
+        this.bulkhead = bulkheadRegistry.bulkhead(INSTANCE);
+        this.retry = retryRegistry.retry(INSTANCE);
+    }
+
+    public Mono<ActivitySummary> fetchSummary() {
+        return activityServiceWebClient
+                .get()
+                .uri("/api/activities/summary")
+                .retrieve()
+                .bodyToMono(ActivitySummary.class)
+                .transformDeferred(this::resilientMono);
+    }
+
+    public Mono<ResponseEntity<ActivitySummary>> fetchSummary(String ifNoneMatch) {
+        return activityServiceWebClient
+                .get()
+                .uri("/api/activities/summary")
+                .headers(headers -> setIfNoneMatch(headers, ifNoneMatch))
+                .retrieve()
+                .toEntity(ActivitySummary.class)
+                .transformDeferred(this::resilientMono);
+    }
+
+    public Flux<ActivityEventDTO> fetchEventsAfter(long afterId, int limit) {
+        return activityServiceWebClient
+                .get()
+                .uri("/api/activities/events", uriBuilder -> uriBuilder
+                        .queryParam("after", afterId)
+                        .queryParam("limit", limit)
+                        .build())
+                .retrieve()
+                .bodyToFlux(ActivityEventDTO.class)
+                .transformDeferred(this::resilientFlux);
+    }
+
+    public Mono<ResponseEntity<List<ActivityDTO>>> fetchActivitiesByEquipo(String equipo, String ifNoneMatch) {
+        return activityServiceWebClient
+                .get()
+                .uri("/api/activities/equipo/{equipo}", equipo)
+                .headers(headers -> setIfNoneMatch(headers, ifNoneMatch))
+                .retrieve()
+                .toEntityList(ActivityDTO.class)
+                .transformDeferred(this::resilientMono);
+    }
+
+    public Mono<ResponseEntity<List<ActivityDTO>>> fetchActivitiesByType(String tipo, String ifNoneMatch) {
+        return activityServiceWebClient
+                .get()
+                .uri("/api/activities/type/{tipo}", tipo)
+                .headers(headers -> setIfNoneMatch(headers, ifNoneMatch))
+                .retrieve()
+                .toEntityList(ActivityDTO.class)
+                .transformDeferred(this::resilientMono);
+    }
+
+    public Flux<ActivityHistogramEntryDTO> fetchHistogram(
+            ActivityHistogram.Interval interval,
+            ActivityHistogram.Dimension groupBy,
+            LocalDateTime from,
+            LocalDateTime to,
+            String tipo,
+            String equipo
+    ) {
+        return activityServiceWebClient
+                .get()
+                .uri("/api/activities/histogram", uriBuilder -> uriBuilder
+                        .queryParam("interval", interval)
+                        .queryParam("groupBy", groupBy)
+                        .queryParam("from", from)
+                        .queryParam("to", to)
+                        .queryParamIfPresent("tipo", Optional.ofNullable(tipo))
+                        .queryParamIfPresent("equipo", Optional.ofNullable(equipo))
+                        .build())
+                .retrieve()
+                .bodyToFlux(ActivityHistogramEntryDTO.class)
+                .transformDeferred(this::resilientFlux);
+    }
+
+    private static void setIfNoneMatch(HttpHeaders headers, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+    }
+
+    // Breaker innermost so bulkhead rejections are not recorded as failures; retry outermost so each attempt
+    // takes its own bulkhead permit and breaker outcome
+    private <T> Mono<T> resilientMono(Mono<T> call) {
+        return call
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(RetryOperator.of(retry));
+    }
+
+    // Lists are read whole before being emitted, so a retry after a broken body cannot repeat elements
+    private <T> Flux<T> resilientFlux(Flux<T> call) {
+        return call.collectList()
+                .transformDeferred(this::resilientMono)
+                .flatMapIterable(elements -> elements);
+    }
+}
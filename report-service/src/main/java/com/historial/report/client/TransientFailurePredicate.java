@@ -0,0 +1,42 @@
+package com.historial.report.client;
+
+import com.fasterxml.jackson.core.JacksonException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Failures worth retrying and counting against the activity-service circuit breaker: connect and read
+ * timeouts, dropped connections, 5xx and 429. Other 4xx responses are the caller's fault and go straight through.
+ * The whole cause chain is checked, since a read timeout while decoding the body arrives wrapped.
+ */
+public class TransientFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause != null) {
+            if (isTransient(cause)) {
+                return true;
+            }
+            cause = cause.getCause() != cause ? cause.getCause() : null;
+        }
+        return false;
+    }
+
+    private static boolean isTransient(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == 429;
+        }
+        return throwable instanceof WebClientRequestException
+                || throwable instanceof TimeoutException
+                // Netty's ReadTimeoutException and WriteTimeoutException, which are not IOExceptions
+                || throwable instanceof io.netty.handler.timeout.TimeoutException
+                // Jackson's parse errors are IOExceptions too, but a malformed body will not improve on retry
+                || throwable instanceof IOException && !(throwable instanceof JacksonException);
+    }
+}
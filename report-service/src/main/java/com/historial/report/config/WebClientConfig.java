@@ -1,14 +1,96 @@
 package com.historial.report.config;
 
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class WebClientConfig {
 
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider activityServiceConnectionProvider(
+            @Value("${activity-service.http.max-connections:50}") int maxConnections,
+            @Value("${activity-service.http.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${activity-service.http.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${activity-service.http.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${activity-service.http.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${activity-service.http.evict-in-background:30s}") Duration evictInBackground
+    ) {
+        return ConnectionProvider.builder("activity-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .build();
+    }
+
+    /**
+     * Shared client for activity-service; the base URL is resolved once and connections are pooled.
+     * The response timeout bounds the wait for headers and every read of the body, so a stalled
+     * activity-service fails the call instead of holding it open.
+     * With {@code activity-service.http.smile} on, responses are requested as Smile (binary JSON, with JSON as
+     * the fallback) and gzip, which makes list payloads smaller and faster to decode.
+     */
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient activityServiceWebClient(
+            WebClient.Builder webClientBuilder,
+            Jackson2ObjectMapperBuilder objectMapperBuilder,
+            ConnectionProvider activityServiceConnectionProvider,
+            @Value("${activity-service.url}") String activityServiceUrl,
+            @Value("${activity-service.http.max-in-memory-size:16MB}") DataSize maxInMemorySize,
+            @Value("${activity-service.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${activity-service.http.response-timeout:5s}") Duration responseTimeout,
+            @Value("${activity-service.http.smile:true}") boolean smile
+    ) {
+        HttpClient httpClient = HttpClient.create(activityServiceConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .keepAlive(true)
+                .compress(true);
+
+        // Same mapper settings as JSON, e.g. unknown properties are ignored
+        Jackson2SmileDecoder smileDecoder = new Jackson2SmileDecoder(objectMapperBuilder.factory(new SmileFactory()).build());
+
+        return webClientBuilder.clone()
+                .baseUrl(normalizeUrl(activityServiceUrl))
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes());
+                    codecs.defaultCodecs().jackson2SmileDecoder(smileDecoder);
+                })
+                .defaultHeaders(headers -> {
+                    if (smile) {
+                        headers.setAccept(List.of(SMILE, MediaType.APPLICATION_JSON));
+                    }
+                })
+                .build();
+    }
+
+    private static String normalizeUrl(String url) {
+        if (url == null || url.isEmpty()) {
+            return url;
+        }
+        // Add https:// if no protocol is specified
+        if (!url.startsWith("http://") && !url.startsWith("https://")) {
+            return "https://" + url;
+        }
+        return url;
     }
 }
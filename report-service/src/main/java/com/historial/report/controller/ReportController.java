@@ -1,14 +1,20 @@
 package com.historial.report.controller;
 
 import com.historial.report.dto.ActivityDTO;
+import com.historial.report.dto.ActivityHistogram;
 import com.historial.report.dto.ActivitySummary;
+import com.historial.report.dto.Versioned;
+import com.historial.report.service.HistogramService;
 import com.historial.report.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -19,25 +25,49 @@ import java.util.List;
 public class ReportController {
 
     private final ReportService reportService;
+    private final HistogramService histogramService;
 
     @GetMapping("/summary")
     @Operation(summary = "Get activity summary", description = "Get summary statistics of all activities")
-    public ResponseEntity<ActivitySummary> getActivitySummary() {
-        ActivitySummary summary = reportService.getActivitySummary();
-        return ResponseEntity.ok(summary);
+    public Mono<ResponseEntity<ActivitySummary>> getActivitySummary() {
+        return reportService.getActivitySummary()
+                .map(ReportController::withETag);
     }
 
     @GetMapping("/equipo/{equipo}")
     @Operation(summary = "Get activities by equipment", description = "Get all activities for a specific equipment")
-    public ResponseEntity<List<ActivityDTO>> getActivitiesByEquipo(@PathVariable String equipo) {
-        List<ActivityDTO> activities = reportService.getActivitiesByEquipo(equipo);
-        return ResponseEntity.ok(activities);
+    public Mono<ResponseEntity<List<ActivityDTO>>> getActivitiesByEquipo(@PathVariable String equipo) {
+        return reportService.getActivitiesByEquipo(equipo)
+                .map(ReportController::withETag);
     }
 
     @GetMapping("/type/{tipo}")
     @Operation(summary = "Get activities by type", description = "Get all activities of a specific type")
-    public ResponseEntity<List<ActivityDTO>> getActivitiesByType(@PathVariable String tipo) {
-        List<ActivityDTO> activities = reportService.getActivitiesByType(tipo);
-        return ResponseEntity.ok(activities);
+    public Mono<ResponseEntity<List<ActivityDTO>>> getActivitiesByType(@PathVariable String tipo) {
+        return reportService.getActivitiesByType(tipo)
+                .map(ReportController::withETag);
+    }
+
+    @GetMapping("/histogram")
+    @Operation(summary = "Get activity histogram", description = "Get activity counts per DAY, WEEK or MONTH bucket, grouped by TIPO, CATEGORIA, EQUIPO or TURNO, optionally filtered by type and equipment")
+    public Mono<ResponseEntity<ActivityHistogram>> getHistogram(
+            @RequestParam ActivityHistogram.Interval interval,
+            @RequestParam ActivityHistogram.Dimension groupBy,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) String equipo
+    ) {
+        return histogramService.getHistogram(interval, groupBy, from, to, tipo, equipo)
+                .map(ResponseEntity::ok);
+    }
+
+    // A matching If-None-Match is answered with 304 by the result handler
+    private static <T> ResponseEntity<T> withETag(Versioned<T> versioned) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (versioned.etag() != null) {
+            response.eTag(versioned.etag());
+        }
+        return response.body(versioned.value());
     }
 }
@@ -0,0 +1,35 @@
+package com.historial.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityEventDTO {
+
+    private Long id;
+    private Long activityId;
+    private EventType type;
+    private String tipo;
+    private String categoria;
+    private String equipo;
+    private String turno;
+    private String previousTipo;
+    private String previousCategoria;
+    private String previousEquipo;
+    private String previousTurno;
+    private LocalDateTime activityCreatedAt;
+    private LocalDateTime createdAt;
+
+    public enum EventType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
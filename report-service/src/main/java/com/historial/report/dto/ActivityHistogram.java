@@ -0,0 +1,71 @@
+package com.historial.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityHistogram {
+
+    private Interval interval;
+    private Dimension groupBy;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<Bucket> buckets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        private LocalDateTime start;
+        private LocalDateTime end;
+        /** False for the bucket that contains the current time, whose counts may still change. */
+        private boolean complete;
+        private Map<String, Long> counts;
+    }
+
+    /**
+     * Bucket sizes; boundaries match Postgres date_trunc (weeks start on Monday).
+     */
+    public enum Interval {
+        DAY,
+        WEEK,
+        MONTH;
+
+        public LocalDateTime truncate(LocalDateTime dateTime) {
+            LocalDateTime day = dateTime.toLocalDate().atStartOfDay();
+            return switch (this) {
+                case DAY -> day;
+                case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> day.withDayOfMonth(1);
+            };
+        }
+
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return switch (this) {
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+    }
+
+    public enum Dimension {
+        TIPO,
+        CATEGORIA,
+        EQUIPO,
+        TURNO
+    }
+}
@@ -0,0 +1,19 @@
+package com.historial.report.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityHistogramEntryDTO {
+
+    private LocalDateTime bucketStart;
+    private String key;
+    private Long count;
+}
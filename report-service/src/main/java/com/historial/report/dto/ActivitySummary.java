@@ -13,6 +13,7 @@ import java.util.Map;
 @AllArgsConstructor
 public class ActivitySummary {
 
+    private Long lastEventId;
     private Long totalActivities;
     private Map<String, Long> activitiesByType;
     private Map<String, Long> activitiesByCategory;
@@ -0,0 +1,7 @@
+package com.historial.report.dto;
+
+/**
+ * A value together with the ETag of the data it was built from; {@code etag} is null when the source sent none.
+ */
+public record Versioned<T>(T value, String etag) {
+}
@@ -0,0 +1,152 @@
+package com.historial.report.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.historial.report.client.ActivityServiceClient;
+import com.historial.report.dto.ActivityDTO;
+import com.historial.report.dto.ActivityEventDTO;
+import com.historial.report.dto.ActivitySummary;
+import com.historial.report.dto.Versioned;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Stale-while-revalidate cache of activity-service reads used by {@link ReportService}. Once an entry is older
+ * than {@code refresh-after} the next read still gets it immediately and triggers a background reload; entries
+ * older than {@code expire-after} are dropped. A failed reload keeps the old value. Lists weigh one unit per
+ * activity, so {@code max-weight} bounds the number of cached activities rather than the number of keys.
+ * <p>
+ * Reloads are conditional: they send the entry's ETag as If-None-Match and keep the cached value on a 304.
+ * Activity change events act as invalidation hints: the entries they touch are reloaded in the background.
+ * Hits, misses, loads and evictions are published as the {@code cache.*} metrics with {@code cache=activity-reads}.
+ */
+@Component
+@Slf4j
+public class ActivityReadCache {
+
+    private final ActivityServiceClient activityServiceClient;
+    private final RequestCoalescer requestCoalescer;
+    private final AsyncLoadingCache<Key, Versioned<?>> cache;
+
+    public ActivityReadCache(
+            ActivityServiceClient activityServiceClient,
+            RequestCoalescer requestCoalescer,
+            MeterRegistry meterRegistry,
+            @Value("${report.cache.refresh-after:30s}") Duration refreshAfter,
+            @Value("${report.cache.expire-after:10m}") Duration expireAfter,
+            @Value("${report.cache.max-weight:200000}") long maxWeight
+    ) {
+        this.activityServiceClient = activityServiceClient;
+        this.requestCoalescer = requestCoalescer;
+        this.cache = Caffeine.newBuilder()
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .maximumWeight(maxWeight)
+                .weigher((Key key, Versioned<?> entry) ->
+                        entry.value() instanceof List<?> list ? Math.max(1, list.size()) : 1)
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<Key, Versioned<?>>() {
+                    @Override
+                    public CompletableFuture<Versioned<?>> asyncLoad(Key key, Executor executor) {
+                        return load(key, null);
+                    }
+
+                    @Override
+                    public CompletableFuture<Versioned<?>> asyncReload(Key key, Versioned<?> oldValue, Executor executor) {
+                        return load(key, oldValue);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "activity-reads");
+    }
+
+    public Mono<Versioned<ActivitySummary>> getSummary() {
+        return get(new Key(Endpoint.SUMMARY, ""));
+    }
+
+    public Mono<Versioned<List<ActivityDTO>>> getActivitiesByEquipo(String equipo) {
+        return get(new Key(Endpoint.EQUIPO, equipo));
+    }
+
+    public Mono<Versioned<List<ActivityDTO>>> getActivitiesByType(String tipo) {
+        return get(new Key(Endpoint.TYPE, tipo));
+    }
+
+    /**
+     * Reloads the cached entries an activity change may have affected: the summary and the lists for the
+     * activity's current and previous type and equipo. Entries that are not cached are left alone.
+     */
+    public void refresh(ActivityEventDTO event) {
+        Stream.of(
+                        new Key(Endpoint.SUMMARY, ""),
+                        new Key(Endpoint.TYPE, event.getTipo()),
+                        new Key(Endpoint.TYPE, event.getPreviousTipo()),
+                        new Key(Endpoint.EQUIPO, event.getEquipo()),
+                        new Key(Endpoint.EQUIPO, event.getPreviousEquipo()))
+                .filter(key -> key.param() != null && cache.getIfPresent(key) != null)
+                .distinct()
+                .forEach(key -> cache.synchronous().refresh(key));
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+        log.debug("Activity read cache cleared");
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<Versioned<T>> get(Key key) {
+        return Mono.fromFuture(() -> cache.get(key), true).map(entry -> (Versioned<T>) entry);
+    }
+
+    private CompletableFuture<Versioned<?>> load(Key key, Versioned<?> cached) {
+        String etag = cached != null ? cached.etag() : null;
+        Object params = Arrays.asList(key.param(), etag);
+        Mono<? extends ResponseEntity<?>> call = switch (key.endpoint()) {
+            case SUMMARY -> coalesce(cached, "summary", params,
+                    () -> activityServiceClient.fetchSummary(etag));
+            case EQUIPO -> coalesce(cached, "equipo", params,
+                    () -> activityServiceClient.fetchActivitiesByEquipo(key.param(), etag));
+            case TYPE -> coalesce(cached, "type", params,
+                    () -> activityServiceClient.fetchActivitiesByType(key.param(), etag));
+        };
+        return call.<Versioned<?>>map(response -> {
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached != null) {
+                return cached;
+            }
+            return new Versioned<>(response.getBody(), response.getHeaders().getETag());
+        }).toFuture();
+    }
+
+    /**
+     * Reloads only join calls still in flight. Reusing a result kept for the coalescing TTL, 304s included,
+     * would let a reload triggered by a change event return data from before that change.
+     */
+    private <T> Mono<T> coalesce(Versioned<?> cached, String endpoint, Object params, Supplier<Mono<T>> upstream) {
+        return cached != null
+                ? requestCoalescer.coalesceInFlight(endpoint, params, upstream)
+                : requestCoalescer.coalesce(endpoint, params, upstream);
+    }
+
+    private enum Endpoint {
+        SUMMARY,
+        EQUIPO,
+        TYPE
+    }
+
+    private record Key(Endpoint endpoint, String param) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.historial.report.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.historial.report.client.ActivityServiceClient;
+import com.historial.report.dto.ActivityHistogram;
+import com.historial.report.dto.ActivityHistogramEntryDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Time-bucketed activity counts. Buckets that ended before the current one are cached, so
+ * a request normally only asks activity-service for the bucket that is still filling up.
+ */
+@Service
+@Slf4j
+public class HistogramService {
+
+    private final ActivityServiceClient activityServiceClient;
+    private final Cache<BucketKey, Map<String, Long>> closedBuckets;
+    private final int maxBuckets;
+
+    public HistogramService(
+            ActivityServiceClient activityServiceClient,
+            @Value("${report.histogram.cache-max-size:10000}") long cacheMaxSize,
+            @Value("${report.histogram.max-buckets:1000}") int maxBuckets
+    ) {
+        this.activityServiceClient = activityServiceClient;
+        this.closedBuckets = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .build();
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Mono<ActivityHistogram> getHistogram(
+            ActivityHistogram.Interval interval,
+            ActivityHistogram.Dimension groupBy,
+            LocalDateTime from,
+            LocalDateTime to,
+            String tipo,
+            String equipo
+    ) {
+        if (!from.isBefore(to)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'"));
+        }
+
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDateTime start = interval.truncate(from); start.isBefore(to); start = interval.next(start)) {
+            if (starts.size() == maxBuckets) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Histogram window exceeds " + maxBuckets + " buckets"));
+            }
+            starts.add(start);
+        }
+        LocalDateTime windowEnd = interval.next(starts.get(starts.size() - 1));
+        LocalDateTime openBucketStart = interval.truncate(LocalDateTime.now());
+
+        // Everything from the first closed bucket missing from the cache onwards is fetched in one call
+        Map<LocalDateTime, Map<String, Long>> cached = new HashMap<>();
+        LocalDateTime fetchFrom = null;
+        for (LocalDateTime start : starts) {
+            Map<String, Long> counts = start.isBefore(openBucketStart)
+                    ? closedBuckets.getIfPresent(new BucketKey(interval, groupBy, tipo, equipo, start))
+                    : null;
+            if (counts == null) {
+                fetchFrom = start;
+                break;
+            }
+            cached.put(start, counts);
+        }
+
+        Mono<Map<LocalDateTime, Map<String, Long>>> fetched = fetchFrom == null
+                ? Mono.just(Collections.emptyMap())
+                : activityServiceClient.fetchHistogram(interval, groupBy, fetchFrom, windowEnd, tipo, equipo)
+                        .collectList()
+                        .map(HistogramService::groupByBucket);
+        LocalDateTime firstFetched = fetchFrom;
+
+        return fetched.map(fetchedCounts -> {
+            List<ActivityHistogram.Bucket> buckets = new ArrayList<>(starts.size());
+            for (LocalDateTime start : starts) {
+                boolean complete = start.isBefore(openBucketStart);
+                Map<String, Long> counts = cached.get(start);
+                if (counts == null) {
+                    counts = fetchedCounts.getOrDefault(start, Collections.emptyMap());
+                    if (complete && firstFetched != null) {
+                        closedBuckets.put(new BucketKey(interval, groupBy, tipo, equipo, start), counts);
+                    }
+                }
+                buckets.add(ActivityHistogram.Bucket.builder()
+                        .start(start)
+                        .end(interval.next(start))
+                        .complete(complete)
+                        .counts(counts)
+                        .build());
+            }
+            return ActivityHistogram.builder()
+                    .interval(interval)
+                    .groupBy(groupBy)
+                    .from(starts.get(0))
+                    .to(windowEnd)
+                    .buckets(buckets)
+                    .build();
+        });
+    }
+
+    /**
+     * Drops all cached buckets, e.g. after the counts were rebuilt from scratch.
+     */
+    public void invalidateClosedBuckets() {
+        closedBuckets.invalidateAll();
+        log.debug("Histogram bucket cache cleared");
+    }
+
+    /**
+     * Drops the cached buckets, of every interval and filter, that contain one of the given activity
+     * creation times; called after those activities were edited or deleted. A null time (an event
+     * written before activity-service recorded it) drops everything.
+     */
+    public void invalidateBucketsContaining(Collection<LocalDateTime> activityCreatedAts) {
+        if (activityCreatedAts.stream().anyMatch(Objects::isNull)) {
+            invalidateClosedBuckets();
+            return;
+        }
+        Set<BucketStart> affected = new HashSet<>();
+        for (LocalDateTime createdAt : activityCreatedAts) {
+            for (ActivityHistogram.Interval interval : ActivityHistogram.Interval.values()) {
+                affected.add(new BucketStart(interval, interval.truncate(createdAt)));
+            }
+        }
+        if (!affected.isEmpty()) {
+            closedBuckets.asMap().keySet().removeIf(key -> affected.contains(new BucketStart(key.interval(), key.start())));
+            log.debug("Histogram buckets containing {} invalidated", activityCreatedAts);
+        }
+    }
+
+    private static Map<LocalDateTime, Map<String, Long>> groupByBucket(List<ActivityHistogramEntryDTO> entries) {
+        Map<LocalDateTime, Map<String, Long>> result = new HashMap<>();
+        for (ActivityHistogramEntryDTO entry : entries) {
+            result.computeIfAbsent(entry.getBucketStart(), start -> new HashMap<>())
+                    .put(entry.getKey(), entry.getCount());
+        }
+        return result;
+    }
+
+    private record BucketStart(ActivityHistogram.Interval interval, LocalDateTime start) {
+    }
+
+    private record BucketKey(
+            ActivityHistogram.Interval interval,
+            ActivityHistogram.Dimension groupBy,
+            String tipo,
+            String equipo,
+            LocalDateTime start
+    ) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.historial.report.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for activity-service reads: concurrent identical requests (same endpoint and parameters)
+ * share one upstream call, and its result is reused for a short TTL. Failures are not kept, so the next
+ * request after an error calls upstream again.
+ * <p>
+ * Per endpoint, {@code report.coalescing.requests} counts requests, {@code report.coalescing.upstream.calls}
+ * the calls actually made, and {@code report.coalescing.ratio} is the share of requests served without one.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Cache<Key, Mono<?>> flights;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${report.coalescing.ttl:2s}") Duration ttl,
+            @Value("${report.coalescing.max-keys:1000}") long maxKeys
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        // Entries outlive the TTL so a slow call stays shared; Mono.cache decides when the result is stale
+        this.flights = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(ttl.plusMinutes(1))
+                .build();
+    }
+
+    public <T> Mono<T> coalesce(String endpoint, Object params, Supplier<Mono<T>> upstream) {
+        return coalesce(endpoint, params, upstream, ttl);
+    }
+
+    /**
+     * Like {@link #coalesce}, but only joins a call that is still in flight: a completed result is never
+     * reused, so the caller sees every write made before its request.
+     */
+    public <T> Mono<T> coalesceInFlight(String endpoint, Object params, Supplier<Mono<T>> upstream) {
+        return coalesce(endpoint, params, upstream, Duration.ZERO);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(String endpoint, Object params, Supplier<Mono<T>> upstream, Duration reuseFor) {
+        EndpointMeters endpointMeters = meters.computeIfAbsent(endpoint, this::registerMeters);
+        // In-flight-only calls get their own keys, so they never pick up a result kept for the TTL
+        Key flightKey = new Key(endpoint, params, reuseFor.isZero());
+        return Mono.defer(() -> {
+            endpointMeters.requests.increment();
+            return (Mono<T>) flights.get(flightKey, key -> upstream.get()
+                    .doOnSubscribe(subscription -> endpointMeters.upstreamCalls.increment())
+                    .cache(value -> reuseFor, error -> Duration.ZERO, () -> Duration.ZERO));
+        });
+    }
+
+    private EndpointMeters registerMeters(String endpoint) {
+        Counter requests = Counter.builder("report.coalescing.requests")
+                .description("Report requests that needed activity-service data")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Counter upstreamCalls = Counter.builder("report.coalescing.upstream.calls")
+                .description("Calls made to activity-service after coalescing")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("report.coalescing.ratio", () -> requests.count() == 0
+                        ? 0.0
+                        : 1.0 - upstreamCalls.count() / requests.count())
+                .description("Share of requests served by another request's call")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return new EndpointMeters(requests, upstreamCalls);
+    }
+
+    private record Key(String endpoint, Object params, boolean inFlightOnly) {
+    }
+
+    private record EndpointMeters(Counter requests, Counter upstreamCalls) {
+    }
+}
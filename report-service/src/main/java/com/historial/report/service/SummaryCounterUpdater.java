@@ -0,0 +1,81 @@
+package com.historial.report.service;
+
+import com.historial.report.client.ActivityServiceClient;
+import com.historial.report.dto.ActivityEventDTO;
+import com.historial.report.dto.ActivitySummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Keeps {@link SummaryCounters} current: polls the activity-service change feed for new events
+ * and periodically rebuilds the counters from the summary endpoint, which also repairs any
+ * drift (e.g. events skipped because their transactions committed out of id order, or events
+ * purged before they were read). Both jobs run on the single scheduler thread, never concurrently.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SummaryCounterUpdater {
+
+    private final ActivityServiceClient activityServiceClient;
+    private final SummaryCounters summaryCounters;
+    private final HistogramService histogramService;
+    private final ActivityReadCache activityReadCache;
+
+    @Value("${report.summary.events-batch-size:500}")
+    private int eventsBatchSize;
+
+    @Value("${report.summary.request-timeout:10s}")
+    private Duration requestTimeout;
+
+    @Scheduled(fixedDelayString = "${report.summary.poll-interval-ms:5000}")
+    public void pollEvents() {
+        if (!summaryCounters.isInitialized()) {
+            // Activity-service was unreachable at startup; seed the counters before applying events
+            reconcile();
+            return;
+        }
+        try {
+            List<ActivityEventDTO> events;
+            do {
+                events = activityServiceClient.fetchEventsAfter(summaryCounters.getLastEventId(), eventsBatchSize)
+                        .collectList()
+                        .block(requestTimeout);
+                if (events == null) {
+                    return;
+                }
+                summaryCounters.applyAll(events);
+                // Reload the cached lists these changes touched; readers keep getting the old ones meanwhile
+                events.forEach(activityReadCache::refresh);
+                // Edits and deletions change the buckets that hold the activity's creation time,
+                // which may already be cached as complete
+                histogramService.invalidateBucketsContaining(events.stream()
+                        .filter(event -> event.getType() != ActivityEventDTO.EventType.CREATED)
+                        .map(ActivityEventDTO::getActivityCreatedAt)
+                        .toList());
+            } while (events.size() >= eventsBatchSize);
+        } catch (Exception e) {
+            log.warn("Failed to poll activity events after id {}", summaryCounters.getLastEventId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${report.summary.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        try {
+            ActivitySummary snapshot = activityServiceClient.fetchSummary().block(requestTimeout);
+            if (snapshot != null) {
+                summaryCounters.reset(snapshot);
+                histogramService.invalidateClosedBuckets();
+                log.debug("Summary counters rebuilt at event id {}", snapshot.getLastEventId());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reconcile summary counters, keeping current values", e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.historial.report.service;
+
+import com.historial.report.dto.ActivityEventDTO;
+import com.historial.report.dto.ActivitySummary;
+import com.historial.report.dto.Versioned;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory activity counts per dimension, kept current by applying change events on top of
+ * a summary snapshot. Writers are serialized and, after each change, publish an immutable summary
+ * together with its ETag. Readers never block and always get counts and ETag from the same write.
+ */
+@Component
+public class SummaryCounters {
+
+    // Guarded by this; only read through the published summary
+    private long total;
+    private final Map<String, Long> byType = new HashMap<>();
+    private final Map<String, Long> byCategory = new HashMap<>();
+    private final Map<String, Long> byEquipo = new HashMap<>();
+    private final Map<String, Long> byTurno = new HashMap<>();
+    private long lastEventId;
+    private long version;
+
+    // Distinguishes ETags of this instance from those of other instances and earlier runs
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private volatile Versioned<ActivitySummary> current;
+
+    /**
+     * Replaces all counts with the given snapshot; events up to its lastEventId are already included.
+     */
+    public synchronized void reset(ActivitySummary snapshot) {
+        total = valueOrZero(snapshot.getTotalActivities());
+        resetDimension(byType, snapshot.getActivitiesByType());
+        resetDimension(byCategory, snapshot.getActivitiesByCategory());
+        resetDimension(byEquipo, snapshot.getActivitiesByEquipo());
+        resetDimension(byTurno, snapshot.getActivitiesByTurno());
+        lastEventId = valueOrZero(snapshot.getLastEventId());
+        publish();
+    }
+
+    /**
+     * Applies one change event. Events at or below the last applied id are ignored.
+     */
+    public synchronized void apply(ActivityEventDTO event) {
+        applyAll(List.of(event));
+    }
+
+    /**
+     * Applies change events in order and publishes the result once. Events at or below the last
+     * applied id are ignored.
+     */
+    public synchronized void applyAll(List<ActivityEventDTO> events) {
+        boolean changed = false;
+        for (ActivityEventDTO event : events) {
+            changed |= applyOne(event);
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    /**
+     * The latest summary and its strong ETag, which changes after every reset or applied event;
+     * null until the first reset. The summary and its maps are never modified once published.
+     */
+    public Versioned<ActivitySummary> current() {
+        return current;
+    }
+
+    public boolean isInitialized() {
+        return current != null;
+    }
+
+    public long getLastEventId() {
+        Versioned<ActivitySummary> published = current;
+        return published != null ? published.value().getLastEventId() : 0L;
+    }
+
+    private boolean applyOne(ActivityEventDTO event) {
+        if (event.getId() == null || event.getType() == null || event.getId() <= lastEventId) {
+            return false;
+        }
+        switch (event.getType()) {
+            case CREATED -> {
+                total++;
+                add(event.getTipo(), event.getCategoria(), event.getEquipo(), event.getTurno(), 1);
+            }
+            case UPDATED -> {
+                add(event.getPreviousTipo(), event.getPreviousCategoria(), event.getPreviousEquipo(), event.getPreviousTurno(), -1);
+                add(event.getTipo(), event.getCategoria(), event.getEquipo(), event.getTurno(), 1);
+            }
+            case DELETED -> {
+                total--;
+                add(event.getPreviousTipo(), event.getPreviousCategoria(), event.getPreviousEquipo(), event.getPreviousTurno(), -1);
+            }
+        }
+        lastEventId = event.getId();
+        return true;
+    }
+
+    private void publish() {
+        version++;
+        ActivitySummary summary = ActivitySummary.builder()
+                .lastEventId(lastEventId)
+                .totalActivities(total)
+                .activitiesByType(positive(byType))
+                .activitiesByCategory(positive(byCategory))
+                .activitiesByEquipo(positive(byEquipo))
+                .activitiesByTurno(positive(byTurno))
+                .build();
+        current = new Versioned<>(summary, "\"" + epoch + "-" + version + "\"");
+    }
+
+    private void add(String tipo, String categoria, String equipo, String turno, long delta) {
+        addTo(byType, tipo, delta);
+        addTo(byCategory, categoria, delta);
+        addTo(byEquipo, equipo, delta);
+        addTo(byTurno, turno, delta);
+    }
+
+    private static void addTo(Map<String, Long> counters, String key, long delta) {
+        if (key != null) {
+            // Keys that drop to zero are removed
+            counters.merge(key, delta, (count, change) -> count + change == 0 ? null : count + change);
+        }
+    }
+
+    private static void resetDimension(Map<String, Long> counters, Map<String, Long> values) {
+        counters.clear();
+        if (values != null) {
+            values.forEach((key, count) -> addTo(counters, key, count));
+        }
+    }
+
+    // Counts can dip below zero between reconciles when events arrive out of order
+    private static Map<String, Long> positive(Map<String, Long> counters) {
+        Map<String, Long> result = new HashMap<>();
+        counters.forEach((key, count) -> {
+            if (count > 0) {
+                result.put(key, count);
+            }
+        });
+        return Map.copyOf(result);
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
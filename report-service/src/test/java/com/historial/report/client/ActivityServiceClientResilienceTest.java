@@ -0,0 +1,224 @@
+package com.historial.report.client;
+
+import com.historial.report.dto.ActivitySummary;
+import com.historial.report.dto.Versioned;
+import com.historial.report.service.ActivityReadCache;
+import com.historial.report.service.ReportService;
+import com.historial.report.service.RequestCoalescer;
+import com.historial.report.service.SummaryCounters;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Timeouts, retries, circuit breaker and bulkhead of the activity-service client, against a MockWebServer
+ * stand-in. The resilience settings are scaled down so each scenario runs in well under a second.
+ */
+@DisplayName("Activity Service Client Resilience Tests")
+class ActivityServiceClientResilienceTest {
+
+    private static final String SUMMARY_JSON = """
+            {"lastEventId":42,"totalActivities":5,"activitiesByType":{"FALLA":5},"activitiesByCategory":{},\
+            "activitiesByEquipo":{},"activitiesByTurno":{}}""";
+
+    private MockWebServer activityService;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ActivityServiceClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        activityService = new MockWebServer();
+        activityService.start();
+
+        HttpClient httpClient = HttpClient.create().responseTimeout(Duration.ofMillis(300));
+        WebClient webClient = WebClient.builder()
+                .baseUrl(activityService.url("/").toString())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        TransientFailurePredicate transientFailure = new TransientFailurePredicate();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(transientFailure)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(Duration.ofMillis(10), 2, 0.5))
+                .retryOnException(transientFailure)
+                .build());
+
+        client = new ActivityServiceClient(webClient, circuitBreakerRegistry, bulkheadRegistry, retryRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        activityService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should retry a transient failure and return the next response")
+    void shouldRetryTransientFailure() {
+        // Given
+        activityService.enqueue(new MockResponse().setResponseCode(503));
+        activityService.enqueue(jsonResponse(SUMMARY_JSON));
+
+        // When
+        ActivitySummary summary = client.fetchSummary().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(summary).isNotNull();
+        assertThat(summary.getTotalActivities()).isEqualTo(5L);
+        assertThat(activityService.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not retry client errors")
+    void shouldNotRetryClientError() {
+        // Given
+        activityService.enqueue(new MockResponse().setResponseCode(404));
+
+        // When / Then
+        assertThatThrownBy(() -> client.fetchActivitiesByType("FALLA", null).block(Duration.ofSeconds(5)))
+                .isInstanceOf(WebClientResponseException.NotFound.class);
+        assertThat(activityService.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give up on a stalled backend within the read timeout and retry budget")
+    void shouldTimeOutStalledBackend() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            activityService.enqueue(jsonResponse(SUMMARY_JSON).setHeadersDelay(2, TimeUnit.SECONDS));
+        }
+
+        // When
+        long started = System.nanoTime();
+        Throwable failure = catchThrowable(() -> client.fetchSummary().block(Duration.ofSeconds(10)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Then
+        assertThat(failure).isInstanceOf(WebClientRequestException.class);
+        assertThat(activityService.getRequestCount()).isEqualTo(3);
+        assertThat(elapsedMillis).isLessThan(2000);
+    }
+
+    @Test
+    @DisplayName("Should retry and give up on a backend that stalls after sending the headers")
+    void shouldTimeOutStalledBody() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            activityService.enqueue(jsonResponse(SUMMARY_JSON).throttleBody(16, 2, TimeUnit.SECONDS));
+        }
+
+        // When
+        long started = System.nanoTime();
+        Throwable failure = catchThrowable(() -> client.fetchSummary().block(Duration.ofSeconds(10)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Then
+        assertThat(failure).hasRootCauseInstanceOf(ReadTimeoutException.class);
+        assertThat(activityService.getRequestCount()).isEqualTo(3);
+        assertThat(elapsedMillis).isLessThan(2000);
+    }
+
+    @Test
+    @DisplayName("Should fail fast without calling the backend once the circuit breaker is open")
+    void shouldFailFastWhenCircuitOpen() {
+        // Given
+        for (int i = 0; i < 6; i++) {
+            activityService.enqueue(new MockResponse().setResponseCode(500));
+        }
+        catchThrowable(() -> client.fetchSummary().block(Duration.ofSeconds(5)));
+        catchThrowable(() -> client.fetchSummary().block(Duration.ofSeconds(5)));
+        int requestsBeforeOpen = activityService.getRequestCount();
+
+        // When
+        Throwable failure = catchThrowable(() -> client.fetchSummary().block(Duration.ofSeconds(5)));
+
+        // Then
+        assertThat(circuitBreakerRegistry.circuitBreaker(ActivityServiceClient.INSTANCE).getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(failure).isInstanceOf(CallNotPermittedException.class);
+        assertThat(activityService.getRequestCount()).isEqualTo(requestsBeforeOpen);
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead limit instead of queueing them")
+    void shouldRejectCallsBeyondBulkhead() throws Exception {
+        // Given
+        activityService.enqueue(jsonResponse(SUMMARY_JSON).setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        CompletableFuture<ActivitySummary> inFlight = client.fetchSummary().toFuture();
+
+        // When
+        Throwable rejected = catchThrowable(() -> client.fetchSummary().block(Duration.ofSeconds(5)));
+
+        // Then
+        assertThat(rejected).isInstanceOf(BulkheadFullException.class);
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).getTotalActivities()).isEqualTo(5L);
+        assertThat(activityService.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve the last known good summary while the circuit breaker is open")
+    void shouldServeLastKnownSummaryWhenCircuitOpen() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestCoalescer noReuse = new RequestCoalescer(meterRegistry, Duration.ZERO, 100);
+        ActivityReadCache readCache = new ActivityReadCache(
+                client, noReuse, meterRegistry, Duration.ofMinutes(1), Duration.ofMinutes(10), 1000);
+        ReportService reportService = new ReportService(new SummaryCounters(), readCache);
+        activityService.enqueue(jsonResponse(SUMMARY_JSON));
+        reportService.getActivitySummary().block(Duration.ofSeconds(5));
+        readCache.invalidateAll();
+        circuitBreakerRegistry.circuitBreaker(ActivityServiceClient.INSTANCE).transitionToOpenState();
+
+        // When
+        Versioned<ActivitySummary> summary = reportService.getActivitySummary().block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(summary).isNotNull();
+        assertThat(summary.value().getTotalActivities()).isEqualTo(5L);
+        assertThat(summary.value().getLastEventId()).isEqualTo(42L);
+        assertThat(activityService.getRequestCount()).isEqualTo(1);
+    }
+
+    private static MockResponse jsonResponse(String body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(body);
+    }
+}
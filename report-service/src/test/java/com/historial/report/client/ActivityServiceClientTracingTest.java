@@ -0,0 +1,130 @@
+package com.historial.report.client;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Calls a MockWebServer stand-in for activity-service inside a traced request and checks that the
+ * W3C trace context is forwarded and the client span is exported.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureObservability
+@DisplayName("Activity Service Client Tracing Tests")
+class ActivityServiceClientTracingTest {
+
+    private static final String SUMMARY_JSON = """
+            {"lastEventId":0,"totalActivities":0,"activitiesByType":{},"activitiesByCategory":{},\
+            "activitiesByEquipo":{},"activitiesByTurno":{}}""";
+
+    private static MockWebServer activityService;
+
+    @Autowired
+    private ActivityServiceClient activityServiceClient;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @BeforeAll
+    static void startActivityService() throws IOException {
+        activityService = new MockWebServer();
+        // The summary poller also calls the stand-in, so answer every path
+        activityService.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getPath().startsWith("/api/activities/summary") ? SUMMARY_JSON : "[]";
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(body);
+            }
+        });
+        activityService.start();
+    }
+
+    @AfterAll
+    static void stopActivityService() throws IOException {
+        activityService.shutdown();
+    }
+
+    @DynamicPropertySource
+    static void activityServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("activity-service.url", () -> activityService.url("/").toString());
+    }
+
+    @Test
+    @DisplayName("Should forward traceparent and export the client span")
+    void shouldPropagateTraceContext() throws InterruptedException {
+        // Given
+        Observation request = Observation.start("report.test.request", observationRegistry);
+        String traceId;
+        try (Observation.Scope scope = request.openScope()) {
+            traceId = tracer.currentSpan().context().traceId();
+        }
+
+        // When
+        activityServiceClient.fetchActivitiesByEquipo("Horno 1", null)
+                .contextWrite(Context.of(ObservationThreadLocalAccessor.KEY, request))
+                .block(Duration.ofSeconds(5));
+        request.stop();
+
+        // Then
+        RecordedRequest recorded = takeRequestTo("/api/activities/equipo/");
+        assertThat(recorded.getHeader("traceparent")).startsWith("00-" + traceId + "-");
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(spanExporter.getFinishedSpanItems()).anySatisfy(span -> {
+                    assertThat(span.getTraceId()).isEqualTo(traceId);
+                    assertThat(span.getKind()).isEqualTo(SpanKind.CLIENT);
+                }));
+    }
+
+    private static RecordedRequest takeRequestTo(String pathPrefix) throws InterruptedException {
+        RecordedRequest request;
+        while ((request = activityService.takeRequest(5, TimeUnit.SECONDS)) != null) {
+            if (request.getPath().startsWith(pathPrefix)) {
+                return request;
+            }
+        }
+        throw new AssertionError("No request to " + pathPrefix);
+    }
+
+    @TestConfiguration
+    static class SpanExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.historial.report.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for which activity-service failures count as transient
+ */
+@DisplayName("Transient Failure Predicate Tests")
+class TransientFailurePredicateTest {
+
+    private final TransientFailurePredicate transientFailure = new TransientFailurePredicate();
+
+    @Test
+    @DisplayName("Should treat a wrapped Netty read timeout as transient")
+    void shouldMatchWrappedReadTimeout() {
+        // Given
+        Throwable failure = new IllegalStateException("body read failed", ReadTimeoutException.INSTANCE);
+
+        // When / Then
+        assertThat(transientFailure.test(failure)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat 5xx and 429 as transient and other 4xx as final")
+    void shouldMatchServerErrorsOnly() {
+        // When / Then
+        assertThat(transientFailure.test(response(503))).isTrue();
+        assertThat(transientFailure.test(response(429))).isTrue();
+        assertThat(transientFailure.test(response(404))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not retry a body that cannot be parsed")
+    void shouldNotMatchDecodingError() {
+        // Given
+        Throwable failure = new DecodingException("JSON decoding error", new JsonParseException(null, "Unexpected character"));
+
+        // When / Then
+        assertThat(transientFailure.test(failure)).isFalse();
+        assertThat(transientFailure.test(new IOException("Connection reset"))).isTrue();
+    }
+
+    private static WebClientResponseException response(int status) {
+        return WebClientResponseException.create(status, "status " + status, HttpHeaders.EMPTY, new byte[0], null);
+    }
+}
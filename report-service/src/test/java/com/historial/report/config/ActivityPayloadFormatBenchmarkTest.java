@@ -0,0 +1,117 @@
+package com.historial.report.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.historial.report.dto.ActivityDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Bytes on the wire and decode time of 100k activities as JSON and as Smile, each with and without gzip.
+ * Both mappers come from Boot's auto-configured builder, as in the services, so dates are ISO strings.
+ * Smile is written with shared string values, as activity-service does. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Activity Payload Format Benchmark")
+class ActivityPayloadFormatBenchmarkTest {
+
+    private static final int ACTIVITIES = 100_000;
+    private static final TypeReference<List<ActivityDTO>> ACTIVITY_LIST = new TypeReference<>() {
+    };
+
+    private static ObjectMapper jsonMapper;
+    private static ObjectMapper smileMapper;
+    private static List<ActivityDTO> activities;
+
+    @BeforeAll
+    static void setUp() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+                .run(context -> {
+                    jsonMapper = context.getBean(Jackson2ObjectMapperBuilder.class).build();
+                    smileMapper = context.getBean(Jackson2ObjectMapperBuilder.class)
+                            .factory(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                            .build();
+                });
+
+        String[] tipos = {"FALLA", "RUTINA", "TRABAJO_TALLER"};
+        String[] categorias = {"ZONA_CALIENTE", "ZONA_FRIA", "TALLER", "OTROS"};
+        String[] turnos = {"A", "B", "C"};
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 6, 0);
+        activities = new ArrayList<>(ACTIVITIES);
+        for (int i = 0; i < ACTIVITIES; i++) {
+            LocalDateTime createdAt = start.plusMinutes(7L * i);
+            activities.add(ActivityDTO.builder()
+                    .id((long) i + 1)
+                    .tipo(tipos[i % tipos.length])
+                    .categoria(categorias[i % categorias.length])
+                    .equipo("Horno " + (i % 40 + 1))
+                    .tecnico("Tecnico " + (i % 25 + 1))
+                    .numFicha(String.valueOf(10_000 + i % 500))
+                    .turno(turnos[i % turnos.length])
+                    .descripcion("Revision de quemador y ajuste de valvula, orden " + i)
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt.plusMinutes(30))
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("Should encode 100k activities smaller as Smile than as JSON")
+    void shouldCompareFormats() throws IOException {
+        // When
+        byte[] json = jsonMapper.writeValueAsBytes(activities);
+        byte[] smile = smileMapper.writeValueAsBytes(activities);
+        int jsonGzip = gzip(json).length;
+        int smileGzip = gzip(smile).length;
+        long jsonDecodeMillis = bestDecodeMillis(jsonMapper, json);
+        long smileDecodeMillis = bestDecodeMillis(smileMapper, smile);
+
+        log.info("{} activities - JSON: {} bytes ({} gzip), decode {} ms; Smile: {} bytes ({} gzip), decode {} ms",
+                ACTIVITIES, json.length, jsonGzip, jsonDecodeMillis, smile.length, smileGzip, smileDecodeMillis);
+
+        // Then
+        assertThat(jsonMapper.readTree(json).get(0).get("createdAt").asText()).isEqualTo("2024-01-01T06:00:00");
+        assertThat(smileMapper.readValue(smile, ACTIVITY_LIST)).isEqualTo(activities);
+        assertThat(smile.length).isLessThan(json.length);
+        assertThat(jsonGzip).isLessThan(json.length);
+        assertThat(smileGzip).isLessThan(smile.length);
+    }
+
+    private static long bestDecodeMillis(ObjectMapper mapper, byte[] payload) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long started = System.nanoTime();
+            mapper.readValue(payload, ACTIVITY_LIST);
+            best = Math.min(best, (System.nanoTime() - started) / 1_000_000);
+        }
+        return best;
+    }
+
+    private static byte[] gzip(byte[] payload) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(payload);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,106 @@
+package com.historial.report.controller;
+
+import com.historial.report.client.ActivityServiceClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Calls a MockWebServer stand-in for activity-service and scrapes /actuator/prometheus on the
+ * management port the way Prometheus would.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@AutoConfigureObservability
+@DisplayName("Metrics Endpoint Tests")
+class MetricsEndpointTest {
+
+    private static final String SUMMARY_JSON = """
+            {"lastEventId":0,"totalActivities":0,"activitiesByType":{},"activitiesByCategory":{},\
+            "activitiesByEquipo":{},"activitiesByTurno":{}}""";
+
+    private static MockWebServer activityService;
+
+    @Autowired
+    private ActivityServiceClient activityServiceClient;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @BeforeAll
+    static void startActivityService() throws IOException {
+        activityService = new MockWebServer();
+        // The summary poller also calls the stand-in, so answer every path
+        activityService.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getPath().startsWith("/api/activities/summary") ? SUMMARY_JSON : "[]";
+                return new MockResponse()
+                        .setHeader("Content-Type", "application/json")
+                        .setBody(body);
+            }
+        });
+        activityService.start();
+    }
+
+    @AfterAll
+    static void stopActivityService() throws IOException {
+        activityService.shutdown();
+    }
+
+    @DynamicPropertySource
+    static void activityServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("activity-service.url", () -> activityService.url("/").toString());
+    }
+
+    @Test
+    @DisplayName("Should tag activity-service client metrics with the URI template")
+    void shouldExposeClientMetricsWithTemplatedUri() {
+        // Given
+        activityServiceClient.fetchActivitiesByEquipo("Horno 1", null).block(Duration.ofSeconds(5));
+
+        // When
+        String scrape = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + managementPort)
+                .build()
+                .get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Then
+        assertThat(scrape)
+                .containsPattern("http_client_requests_seconds_count\\{[^}]*uri=\"/api/activities/equipo/\\{equipo}\"")
+                .doesNotContain("Horno");
+    }
+
+    @Test
+    @DisplayName("Should not serve metrics on the public port")
+    void shouldNotExposeMetricsOnPublicPort() {
+        // When / Then
+        webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,205 @@
+package com.historial.report.service;
+
+import com.historial.report.client.ActivityServiceClient;
+import com.historial.report.dto.ActivityDTO;
+import com.historial.report.dto.ActivityEventDTO;
+import com.historial.report.dto.Versioned;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ActivityReadCache, with a mocked activity-service client
+ */
+@DisplayName("Activity Read Cache Tests")
+class ActivityReadCacheTest {
+
+    private static final Duration REFRESH_AFTER = Duration.ofMillis(100);
+
+    private ActivityServiceClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private ActivityReadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(ActivityServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        RequestCoalescer noReuse = new RequestCoalescer(meterRegistry, Duration.ZERO, 100);
+        cache = new ActivityReadCache(client, noReuse, meterRegistry, REFRESH_AFTER, Duration.ofMinutes(10), 5);
+    }
+
+    @Test
+    @DisplayName("Should serve the stale list while a refresh is in flight")
+    void shouldServeStaleWhileRevalidating() {
+        // Given
+        Sinks.One<ResponseEntity<List<ActivityDTO>>> reload = Sinks.one();
+        when(client.fetchActivitiesByEquipo("Horno 1", null)).thenReturn(ok("\"1\"", activity(1L, "Horno 1")));
+        when(client.fetchActivitiesByEquipo("Horno 1", "\"1\"")).thenReturn(reload.asMono());
+        cache.getActivitiesByEquipo("Horno 1").block();
+
+        // When
+        // Reads keep returning the cached list until one past refresh-after starts the reload
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(cache.getActivitiesByEquipo("Horno 1").block(Duration.ofSeconds(1)).value())
+                    .extracting(ActivityDTO::getId).containsExactly(1L);
+            verify(client).fetchActivitiesByEquipo("Horno 1", "\"1\"");
+        });
+        Versioned<List<ActivityDTO>> stale = cache.getActivitiesByEquipo("Horno 1").block(Duration.ofSeconds(1));
+        reload.tryEmitValue(ok("\"2\"", activity(2L, "Horno 1")).block());
+
+        // Then
+        // The reload had not completed, so the read above did not wait for it
+        assertThat(stale.value()).extracting(ActivityDTO::getId).containsExactly(1L);
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertThat(cache.getActivitiesByEquipo("Horno 1").block().value())
+                        .extracting(ActivityDTO::getId).containsExactly(2L));
+    }
+
+    @Test
+    @DisplayName("Should revalidate with the cached ETag and keep the list on 304")
+    void shouldKeepListWhenNotModified() {
+        // Given
+        when(client.fetchActivitiesByType("FALLA", null)).thenReturn(ok("\"7\"", activity(1L, "Horno 1")));
+        when(client.fetchActivitiesByType("FALLA", "\"7\""))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+        Versioned<List<ActivityDTO>> loaded = cache.getActivitiesByType("FALLA").block();
+
+        // When
+        cache.refresh(ActivityEventDTO.builder().id(11L).type(ActivityEventDTO.EventType.CREATED).tipo("FALLA").build());
+
+        // Then
+        verify(client, timeout(2000)).fetchActivitiesByType("FALLA", "\"7\"");
+        assertThat(cache.getActivitiesByType("FALLA").block()).isSameAs(loaded);
+    }
+
+    @Test
+    @DisplayName("Should call upstream again for a change event within the coalescing TTL")
+    void shouldNotReuseCoalescedResultOnRefresh() {
+        // Given
+        RequestCoalescer reuse = new RequestCoalescer(meterRegistry, Duration.ofMinutes(1), 100);
+        cache = new ActivityReadCache(client, reuse, meterRegistry, Duration.ofMinutes(1), Duration.ofMinutes(10), 5);
+        AtomicInteger revalidations = new AtomicInteger();
+        when(client.fetchActivitiesByType("FALLA", null)).thenReturn(ok("\"7\"", activity(1L, "Horno 1")));
+        // Subscribed once per upstream call: 304 first, then the list after a write
+        when(client.fetchActivitiesByType("FALLA", "\"7\"")).thenReturn(Mono.defer(() -> revalidations.getAndIncrement() == 0
+                ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build())
+                : ok("\"8\"", activity(2L, "Horno 1"))));
+        cache.getActivitiesByType("FALLA").block();
+        cache.refresh(created(11L, "FALLA"));
+        await().atMost(Duration.ofSeconds(2)).untilAtomic(revalidations, equalTo(1));
+
+        // When
+        // Retried because a refresh issued while the previous one is still completing joins it
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            cache.refresh(created(12L, "FALLA"));
+            assertThat(revalidations).hasValueGreaterThanOrEqualTo(2);
+        });
+
+        // Then
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertThat(cache.getActivitiesByType("FALLA").block().value())
+                        .extracting(ActivityDTO::getId).containsExactly(2L));
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void shouldRecordHitsAndMisses() {
+        // Given
+        when(client.fetchActivitiesByType("FALLA", null)).thenReturn(ok("\"1\"", activity(1L, "Horno 1")));
+
+        // When
+        cache.getActivitiesByType("FALLA").block();
+        cache.getActivitiesByType("FALLA").block();
+
+        // Then
+        verify(client, times(1)).fetchActivitiesByType(anyString(), any());
+        assertThat(gets("hit")).isEqualTo(1.0);
+        assertThat(gets("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should evict entries once the cached lists exceed the maximum weight")
+    void shouldEvictByWeight() {
+        // Given
+        when(client.fetchActivitiesByEquipo(anyString(), isNull())).thenAnswer(invocation -> ok("\"1\"",
+                activity(1L, invocation.getArgument(0)),
+                activity(2L, invocation.getArgument(0)),
+                activity(3L, invocation.getArgument(0))));
+
+        // When
+        cache.getActivitiesByEquipo("Horno 1").block();
+        cache.getActivitiesByEquipo("Prensa 2").block();
+
+        // Then
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() ->
+                assertThat(meterRegistry.get("cache.evictions").tag("cache", "activity-reads").functionCounter().count())
+                        .isGreaterThanOrEqualTo(1.0));
+    }
+
+    @Test
+    @DisplayName("Should reload only the cached entries touched by a change event")
+    void shouldRefreshOnChangeEvent() {
+        // Given
+        when(client.fetchActivitiesByEquipo(eq("Horno 1"), any())).thenReturn(ok("\"1\"", activity(1L, "Horno 1")));
+        cache.getActivitiesByEquipo("Horno 1").block();
+        ActivityEventDTO event = ActivityEventDTO.builder()
+                .id(11L)
+                .activityId(1L)
+                .type(ActivityEventDTO.EventType.UPDATED)
+                .tipo("RUTINA")
+                .equipo("Prensa 2")
+                .previousTipo("FALLA")
+                .previousEquipo("Horno 1")
+                .build();
+
+        // When
+        cache.refresh(event);
+
+        // Then
+        verify(client, timeout(2000)).fetchActivitiesByEquipo("Horno 1", "\"1\"");
+        verify(client, never()).fetchActivitiesByEquipo(eq("Prensa 2"), any());
+        verify(client, never()).fetchActivitiesByType(anyString(), any());
+        verify(client, never()).fetchSummary(any());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "activity-reads")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static Mono<ResponseEntity<List<ActivityDTO>>> ok(String etag, ActivityDTO... activities) {
+        return Mono.just(ResponseEntity.ok().eTag(etag).body(List.of(activities)));
+    }
+
+    private static ActivityEventDTO created(Long id, String tipo) {
+        return ActivityEventDTO.builder().id(id).type(ActivityEventDTO.EventType.CREATED).tipo(tipo).build();
+    }
+
+    private static ActivityDTO activity(Long id, String equipo) {
+        return ActivityDTO.builder()
+                .id(id)
+                .tipo("FALLA")
+                .equipo(equipo)
+                .build();
+    }
+}
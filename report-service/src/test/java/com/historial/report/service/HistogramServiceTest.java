@@ -0,0 +1,88 @@
+package com.historial.report.service;
+
+import com.historial.report.client.ActivityServiceClient;
+import com.historial.report.dto.ActivityHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the closed-bucket cache of HistogramService, with a mocked activity-service client
+ */
+@DisplayName("Histogram Service Tests")
+class HistogramServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 1, 4, 0, 0);
+
+    private ActivityServiceClient client;
+    private HistogramService histogramService;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(ActivityServiceClient.class);
+        when(client.fetchHistogram(any(), any(), any(), any(), isNull(), isNull())).thenReturn(Flux.empty());
+        histogramService = new HistogramService(client, 1000, 1000);
+        daily();
+        clearInvocations(client);
+    }
+
+    @Test
+    @DisplayName("Should serve closed buckets from the cache")
+    void shouldCacheClosedBuckets() {
+        // When
+        daily();
+
+        // Then
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @DisplayName("Should refetch only from the bucket that holds the edited activity")
+    void shouldInvalidateBucketOfEditedActivity() {
+        // When
+        histogramService.invalidateBucketsContaining(List.of(LocalDateTime.of(2024, 1, 2, 10, 30)));
+        daily();
+
+        // Then
+        verify(client).fetchHistogram(ActivityHistogram.Interval.DAY, ActivityHistogram.Dimension.TIPO,
+                LocalDateTime.of(2024, 1, 2, 0, 0), TO, null, null);
+    }
+
+    @Test
+    @DisplayName("Should keep buckets that do not hold the edited activity")
+    void shouldKeepUnaffectedBuckets() {
+        // When
+        histogramService.invalidateBucketsContaining(List.of(LocalDateTime.of(2023, 6, 1, 8, 0)));
+        daily();
+
+        // Then
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @DisplayName("Should drop every bucket when the creation time is unknown")
+    void shouldInvalidateAllWithoutCreationTime() {
+        // When
+        histogramService.invalidateBucketsContaining(Arrays.asList(LocalDateTime.of(2023, 6, 1, 8, 0), null));
+        daily();
+
+        // Then
+        verify(client).fetchHistogram(ActivityHistogram.Interval.DAY, ActivityHistogram.Dimension.TIPO,
+                FROM, TO, null, null);
+    }
+
+    private void daily() {
+        histogramService.getHistogram(ActivityHistogram.Interval.DAY, ActivityHistogram.Dimension.TIPO,
+                FROM, TO, null, null).block();
+    }
+}
@@ -0,0 +1,110 @@
+package com.historial.report.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RequestCoalescer, with a counting stand-in for the activity-service call
+ */
+@DisplayName("Request Coalescer Tests")
+class RequestCoalescerTest {
+
+    private static final Duration TTL = Duration.ofMillis(200);
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+    private AtomicInteger upstreamCalls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(meterRegistry, TTL, 100);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight call between concurrent identical requests")
+    void shouldShareInFlightCall() throws Exception {
+        // Given
+        Sinks.One<String> response = Sinks.one();
+        List<CompletableFuture<String>> requests = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            requests.add(coalescer.coalesce("equipo", "Horno 1", () -> counted(response.asMono())).toFuture());
+        }
+        response.tryEmitValue("activities");
+
+        // Then
+        for (CompletableFuture<String> request : requests) {
+            assertThat(request.get()).isEqualTo("activities");
+        }
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(meterRegistry.get("report.coalescing.requests").tag("endpoint", "equipo").counter().count())
+                .isEqualTo(10.0);
+        assertThat(meterRegistry.get("report.coalescing.upstream.calls").tag("endpoint", "equipo").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.coalescing.ratio").tag("endpoint", "equipo").gauge().value())
+                .isCloseTo(0.9, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should reuse a result within the TTL and call again after it")
+    void shouldReuseResultWithinTtl() throws InterruptedException {
+        // When
+        coalescer.coalesce("summary", "", () -> counted(Mono.just("summary"))).block();
+        coalescer.coalesce("summary", "", () -> counted(Mono.just("summary"))).block();
+        int callsWithinTtl = upstreamCalls.get();
+        Thread.sleep(TTL.multipliedBy(2).toMillis());
+        coalescer.coalesce("summary", "", () -> counted(Mono.just("summary"))).block();
+
+        // Then
+        assertThat(callsWithinTtl).isEqualTo(1);
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not coalesce requests with different parameters")
+    void shouldKeepDifferentParametersApart() {
+        // When
+        String horno = coalescer.coalesce("equipo", "Horno 1", () -> counted(Mono.just("horno"))).block();
+        String prensa = coalescer.coalesce("equipo", "Prensa 2", () -> counted(Mono.just("prensa"))).block();
+
+        // Then
+        assertThat(horno).isEqualTo("horno");
+        assertThat(prensa).isEqualTo("prensa");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should call upstream again after a failure")
+    void shouldNotKeepFailures() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> failsOnce = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(new IllegalStateException("activity-service down"))
+                : Mono.just("summary"));
+
+        // When / Then
+        assertThatThrownBy(() -> coalescer.coalesce("summary", "", () -> counted(failsOnce)).block())
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(coalescer.coalesce("summary", "", () -> counted(failsOnce)).block()).isEqualTo("summary");
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private <T> Mono<T> counted(Mono<T> call) {
+        return call.doOnSubscribe(subscription -> upstreamCalls.incrementAndGet());
+    }
+}
@@ -0,0 +1,157 @@
+package com.historial.report.service;
+
+import com.historial.report.client.ActivityServiceClient;
+import com.historial.report.dto.ActivityEventDTO;
+import com.historial.report.dto.ActivitySummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SummaryCounterUpdater, with a mocked activity-service client and real counters
+ */
+@DisplayName("Summary Counter Updater Tests")
+class SummaryCounterUpdaterTest {
+
+    private ActivityServiceClient client;
+    private SummaryCounters counters;
+    private HistogramService histogramService;
+    private ActivityReadCache activityReadCache;
+    private SummaryCounterUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(ActivityServiceClient.class);
+        counters = new SummaryCounters();
+        histogramService = mock(HistogramService.class);
+        activityReadCache = mock(ActivityReadCache.class);
+        updater = new SummaryCounterUpdater(client, counters, histogramService, activityReadCache);
+        ReflectionTestUtils.setField(updater, "eventsBatchSize", 2);
+        ReflectionTestUtils.setField(updater, "requestTimeout", Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should seed the counters from the summary before polling events")
+    void shouldReconcileWhenNotInitialized() {
+        // Given
+        when(client.fetchSummary()).thenReturn(Mono.just(summary(10L, 2L)));
+
+        // When
+        updater.pollEvents();
+
+        // Then
+        assertThat(counters.getLastEventId()).isEqualTo(10L);
+        assertThat(counters.current().value().getTotalActivities()).isEqualTo(2L);
+        verify(client, never()).fetchEventsAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should page through the change feed until a short batch")
+    void shouldPollUntilShortBatch() {
+        // Given
+        counters.reset(summary(10L, 2L));
+        when(client.fetchEventsAfter(10L, 2)).thenReturn(Flux.just(created(11L), created(12L)));
+        when(client.fetchEventsAfter(12L, 2)).thenReturn(Flux.just(created(13L)));
+
+        // When
+        updater.pollEvents();
+
+        // Then
+        assertThat(counters.getLastEventId()).isEqualTo(13L);
+        assertThat(counters.current().value().getTotalActivities()).isEqualTo(5L);
+        verify(activityReadCache, times(3)).refresh(any());
+        verify(client, never()).fetchEventsAfter(eq(13L), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the histogram buckets of edited and deleted activities")
+    void shouldInvalidateBucketsOfChangedActivities() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 5, 14, 0);
+        counters.reset(summary(10L, 2L));
+        when(client.fetchEventsAfter(10L, 2)).thenReturn(Flux.just(created(11L), ActivityEventDTO.builder()
+                .id(12L)
+                .activityId(1L)
+                .type(ActivityEventDTO.EventType.DELETED)
+                .previousTipo("FALLA")
+                .activityCreatedAt(createdAt)
+                .build()));
+        when(client.fetchEventsAfter(12L, 2)).thenReturn(Flux.empty());
+
+        // When
+        updater.pollEvents();
+
+        // Then
+        verify(histogramService).invalidateBucketsContaining(List.of(createdAt));
+        verify(histogramService, never()).invalidateClosedBuckets();
+    }
+
+    @Test
+    @DisplayName("Should keep the counters and resume from the same id after a failed poll")
+    void shouldKeepCountersWhenPollFails() {
+        // Given
+        counters.reset(summary(10L, 2L));
+        String etag = counters.current().etag();
+        when(client.fetchEventsAfter(10L, 2)).thenReturn(Flux.error(new IllegalStateException("down")));
+
+        // When
+        updater.pollEvents();
+
+        // Then
+        assertThat(counters.getLastEventId()).isEqualTo(10L);
+        assertThat(counters.current().etag()).isEqualTo(etag);
+        verifyNoInteractions(activityReadCache);
+    }
+
+    @Test
+    @DisplayName("Should replace the counters on reconcile and keep them when it fails")
+    void shouldReconcile() {
+        // Given
+        counters.reset(summary(10L, 2L));
+        when(client.fetchSummary())
+                .thenReturn(Mono.just(summary(20L, 7L)))
+                .thenReturn(Mono.error(new IllegalStateException("down")));
+
+        // When
+        updater.reconcile();
+        updater.reconcile();
+
+        // Then
+        assertThat(counters.getLastEventId()).isEqualTo(20L);
+        assertThat(counters.current().value().getTotalActivities()).isEqualTo(7L);
+    }
+
+    private static ActivitySummary summary(long lastEventId, long total) {
+        return ActivitySummary.builder()
+                .lastEventId(lastEventId)
+                .totalActivities(total)
+                .activitiesByType(Map.of("FALLA", total))
+                .build();
+    }
+
+    private static ActivityEventDTO created(long id) {
+        return ActivityEventDTO.builder()
+                .id(id)
+                .activityId(id)
+                .type(ActivityEventDTO.EventType.CREATED)
+                .tipo("FALLA")
+                .categoria("TALLER")
+                .equipo("Horno 1")
+                .turno("A")
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.historial.report.service;
+
+import com.historial.report.dto.ActivityEventDTO;
+import com.historial.report.dto.ActivitySummary;
+import com.historial.report.dto.Versioned;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for SummaryCounters, driven by hand-built change events in place of activity-service
+ */
+@DisplayName("Summary Counters Tests")
+class SummaryCountersTest {
+
+    private SummaryCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new SummaryCounters();
+        counters.reset(ActivitySummary.builder()
+                .lastEventId(10L)
+                .totalActivities(2L)
+                .activitiesByType(Map.of("FALLA", 2L))
+                .activitiesByCategory(Map.of("TALLER", 2L))
+                .activitiesByEquipo(Map.of("Horno 1", 2L))
+                .activitiesByTurno(Map.of("A", 2L))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should count created activities")
+    void shouldApplyCreatedEvent() {
+        // When
+        counters.apply(event(11L, ActivityEventDTO.EventType.CREATED, "RUTINA", null));
+
+        // Then
+        ActivitySummary summary = counters.current().value();
+        assertThat(summary.getTotalActivities()).isEqualTo(3L);
+        assertThat(summary.getActivitiesByType()).containsEntry("FALLA", 2L).containsEntry("RUTINA", 1L);
+        assertThat(summary.getLastEventId()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("Should move counts between keys on update")
+    void shouldApplyUpdatedEvent() {
+        // When
+        counters.apply(event(11L, ActivityEventDTO.EventType.UPDATED, "RUTINA", "FALLA"));
+
+        // Then
+        ActivitySummary summary = counters.current().value();
+        assertThat(summary.getTotalActivities()).isEqualTo(2L);
+        assertThat(summary.getActivitiesByType()).containsEntry("FALLA", 1L).containsEntry("RUTINA", 1L);
+    }
+
+    @Test
+    @DisplayName("Should drop keys whose count reaches zero on delete")
+    void shouldApplyDeletedEvents() {
+        // When
+        counters.apply(event(11L, ActivityEventDTO.EventType.DELETED, null, "FALLA"));
+        counters.apply(event(12L, ActivityEventDTO.EventType.DELETED, null, "FALLA"));
+
+        // Then
+        ActivitySummary summary = counters.current().value();
+        assertThat(summary.getTotalActivities()).isZero();
+        assertThat(summary.getActivitiesByType()).isEmpty();
+        assertThat(summary.getActivitiesByEquipo()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore events already included in the snapshot")
+    void shouldIgnoreAppliedEvents() {
+        // When
+        counters.apply(event(10L, ActivityEventDTO.EventType.CREATED, "RUTINA", null));
+
+        // Then
+        assertThat(counters.current().value().getTotalActivities()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should publish a new ETag with every change and keep it with its summary")
+    void shouldPublishETagWithSummary() {
+        // Given
+        Versioned<ActivitySummary> before = counters.current();
+
+        // When
+        counters.applyAll(List.of(
+                event(11L, ActivityEventDTO.EventType.CREATED, "RUTINA", null),
+                event(12L, ActivityEventDTO.EventType.CREATED, "RUTINA", null)));
+        Versioned<ActivitySummary> after = counters.current();
+        counters.apply(event(12L, ActivityEventDTO.EventType.CREATED, "RUTINA", null));
+
+        // Then
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(before.value().getTotalActivities()).isEqualTo(2L);
+        assertThat(after.value().getTotalActivities()).isEqualTo(4L);
+        assertThat(counters.current()).isSameAs(after);
+        assertThatThrownBy(() -> after.value().getActivitiesByType().put("FALLA", 0L))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Should never expose a half-reset summary to concurrent readers")
+    void shouldReadConsistentSummaryDuringResets() throws Exception {
+        // Given
+        Map<String, Long> totalsByETag = new ConcurrentHashMap<>();
+        List<String> torn = new CopyOnWriteArrayList<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(2);
+        for (int i = 0; i < 2; i++) {
+            readers.submit(() -> {
+                while (writing.get()) {
+                    Versioned<ActivitySummary> read = counters.current();
+                    long total = read.value().getTotalActivities();
+                    long byType = read.value().getActivitiesByType().values().stream().mapToLong(Long::longValue).sum();
+                    if (total != byType || totalsByETag.computeIfAbsent(read.etag(), etag -> total) != total) {
+                        torn.add(read.etag());
+                    }
+                }
+            });
+        }
+
+        // When
+        for (long n = 1; n <= 5_000; n++) {
+            counters.reset(ActivitySummary.builder()
+                    .lastEventId(n)
+                    .totalActivities(n)
+                    .activitiesByType(Map.of("FALLA", n))
+                    .build());
+        }
+        writing.set(false);
+        readers.shutdown();
+
+        // Then
+        assertThat(readers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(torn).isEmpty();
+    }
+
+    private ActivityEventDTO event(Long id, ActivityEventDTO.EventType type, String tipo, String previousTipo) {
+        ActivityEventDTO.ActivityEventDTOBuilder builder = ActivityEventDTO.builder()
+                .id(id)
+                .activityId(id)
+                .type(type);
+        if (tipo != null) {
+            builder.tipo(tipo).categoria("TALLER").equipo("Horno 1").turno("A");
+        }
+        if (previousTipo != null) {
+            builder.previousTipo(previousTipo).previousCategoria("TALLER").previousEquipo("Horno 1").previousTurno("A");
+        }
+        return builder.build();
+    }
+}